@@ -0,0 +1,141 @@
+// File Name:     BatchedEnvironmentBenchmark.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.benchmarks;
+
+import com.darianbenam.snake.game.Direction;
+import com.darianbenam.snake.game.SnakeGame;
+import com.darianbenam.snake.simulation.BatchedSnakeEnvironment;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BatchedEnvironmentBenchmark
+{
+    private static final int MAP_HEIGHT = 8, MAP_WIDTH = 8;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    @State(Scope.Thread)
+    public static class BatchedState
+    {
+        @Param({ "1000", "10000", "100000", "1000000" })
+        public int gameCount;
+
+        private BatchedSnakeEnvironment environment;
+        private Direction[] directions;
+        private int tick = 0;
+
+        @Setup
+        public void setup()
+        {
+            environment = new BatchedSnakeEnvironment(gameCount, MAP_HEIGHT, MAP_WIDTH, false, 0);
+            directions = new Direction[gameCount];
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ObjectState
+    {
+        @Param({ "1000", "10000", "100000", "1000000" })
+        public int gameCount;
+
+        private SnakeGame[] games;
+        private Direction[] directions;
+        private int tick = 0;
+
+        @Setup
+        public void setup()
+        {
+            games = new SnakeGame[gameCount];
+            for (int i = 0; i < gameCount; i++)
+            {
+                games[i] = new SnakeGame(MAP_HEIGHT, MAP_WIDTH, false, i);
+            }
+
+            directions = new Direction[gameCount];
+        }
+    }
+
+    /**
+     * Steps every game of a struct-of-arrays batch by one tick. Games that are over are reset so the amount of work per tick stays
+     * about the same.
+     */
+    @Benchmark
+    public int batchedStep(BatchedState state)
+    {
+        final BatchedSnakeEnvironment ENVIRONMENT = state.environment;
+
+        fillDirections(state.directions, state.tick++);
+
+        int runningCount = ENVIRONMENT.step(state.directions);
+
+        for (int i = 0; i < state.gameCount; i++)
+        {
+            if (ENVIRONMENT.isGameOver(i))
+            {
+                ENVIRONMENT.reset(i, ENVIRONMENT.getSeed(i) + state.gameCount);
+            }
+        }
+
+        return runningCount;
+    }
+
+    /**
+     * Steps every game of an array of SnakeGame objects by one tick. Baseline for batchedStep.
+     */
+    @Benchmark
+    public int objectStep(ObjectState state)
+    {
+        fillDirections(state.directions, state.tick++);
+
+        int runningCount = 0;
+
+        for (int i = 0; i < state.gameCount; i++)
+        {
+            SnakeGame game = state.games[i];
+
+            game.step(state.directions[i]);
+
+            if (game.isGameOver())
+            {
+                game.reset(game.getSeed() + state.gameCount);
+            }
+            else
+            {
+                runningCount++;
+            }
+        }
+
+        return runningCount;
+    }
+
+    /**
+     * Gives every game a direction that changes every few ticks, offset by the index of the game so the games do not all turn at
+     * the same time.
+     *
+     * @param directions The array to fill, indexed by game.
+     * @param tick The current tick.
+     */
+    private static void fillDirections(Direction[] directions, int tick)
+    {
+        for (int i = 0; i < directions.length; i++)
+        {
+            directions[i] = DIRECTIONS[((tick >>> 2) + i) & 3];
+        }
+    }
+}
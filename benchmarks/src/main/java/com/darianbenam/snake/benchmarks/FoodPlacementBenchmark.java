@@ -0,0 +1,102 @@
+// File Name:     FoodPlacementBenchmark.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.benchmarks;
+
+import com.darianbenam.snake.game.Snake;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FoodPlacementBenchmark
+{
+    private final int MAP_HEIGHT = 50, MAP_WIDTH = 75;
+
+    @Param({ "10", "50", "99" })
+    public int fillPercentage;
+
+    private Snake snake;
+    private ArrayList<Point> bodyPartsList;
+
+    /**
+     * Lays out a snake in rows going back and forth across the map (like the snake would if it was filling up the map) until the
+     * requested percentage of the map is covered.
+     */
+    @Setup
+    public void setup()
+    {
+        final int SNAKE_LENGTH = MAP_HEIGHT * MAP_WIDTH * fillPercentage / 100;
+
+        bodyPartsList = new ArrayList<Point>();
+
+        for (int i = 0; i < SNAKE_LENGTH; i++)
+        {
+            int row = i / MAP_WIDTH;
+            int col = row % 2 == 0 ? i % MAP_WIDTH : MAP_WIDTH - 1 - i % MAP_WIDTH;
+            int bodyCell = row * MAP_WIDTH + col;
+
+            if (snake == null)
+            {
+                snake = new Snake(bodyCell, true, MAP_HEIGHT, MAP_WIDTH);
+            }
+            else
+            {
+                snake.addBodyPart(bodyCell);
+            }
+
+            bodyPartsList.add(new Point(col, row));
+        }
+    }
+
+    /**
+     * Picks a random empty cell the way SnakeGame.generateFood does, through the free cell index of the snake.
+     */
+    @Benchmark
+    public int freeCellIndex()
+    {
+        return snake.getFreeCell((int)(Math.random() * snake.getFreeCellCount()));
+    }
+
+    /**
+     * Picks a random empty cell the way generateFood used to, by building a list of every empty map point and checking each point
+     * against the list of body parts. Kept as the baseline for freeCellIndex.
+     */
+    @Benchmark
+    public Point legacyEmptyMapScan()
+    {
+        ArrayList<Point> map = new ArrayList<Point>();
+
+        for (int row = 0; row < MAP_HEIGHT; row++)
+        {
+            for (int col = 0; col < MAP_WIDTH; col++)
+            {
+                Point mapPoint = new Point(col, row);
+
+                if (!bodyPartsList.contains(mapPoint))
+                {
+                    map.add(mapPoint);
+                }
+            }
+        }
+
+        return map.get((int)(Math.random() * map.size()));
+    }
+}
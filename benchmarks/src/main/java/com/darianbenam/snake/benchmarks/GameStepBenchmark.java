@@ -0,0 +1,57 @@
+// File Name:     GameStepBenchmark.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.benchmarks;
+
+import com.darianbenam.snake.game.Direction;
+import com.darianbenam.snake.game.SnakeGame;
+import com.darianbenam.snake.game.StepResult;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameStepBenchmark
+{
+    private final Direction[] DIRECTIONS = Direction.values();
+
+    private SnakeGame game;
+    private int turnCounter = 0;
+
+    @Setup
+    public void setup()
+    {
+        game = new SnakeGame(50, 75, false);
+    }
+
+    /**
+     * Steps a headless game on the default map size. The snake turns every few ticks so that it eats food and dies once in a while,
+     * and the game is reset as soon as it is over.
+     */
+    @Benchmark
+    public StepResult step()
+    {
+        if (game.isGameOver())
+        {
+            game.reset();
+        }
+
+        turnCounter++;
+
+        return game.step(DIRECTIONS[(turnCounter >>> 4) & 3]);
+    }
+}
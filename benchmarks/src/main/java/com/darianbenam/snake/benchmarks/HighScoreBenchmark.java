@@ -0,0 +1,99 @@
+// File Name:     HighScoreBenchmark.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.benchmarks;
+
+import com.darianbenam.snake.score.HighScoreManager;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Thread)
+public class HighScoreBenchmark
+{
+    private final int MAX_SCORE = 56205; // The score of a full 50x75 map
+
+    @Param({ "10000", "1000000" })
+    public int highScoreCount;
+
+    private Path directoryPath;
+    private HighScoreManager highScoreMngr;
+    private SplittableRandom random;
+
+    /**
+     * Records the runs in a high score file of a temporary directory, so the high scores of the player in the working directory are
+     * never touched. Most runs are recorded without a name, like the runs that do not make the top 5 are in the game.
+     */
+    @Setup
+    public void setup() throws Exception
+    {
+        directoryPath = Files.createTempDirectory("snake-high-score-benchmark");
+        highScoreMngr = new HighScoreManager(directoryPath.resolve("highscores.bin"));
+        random = new SplittableRandom(0);
+
+        for (int i = 0; i < highScoreCount; i++)
+        {
+            highScoreMngr.recordScore(i % 100 == 0 ? "Player " + i : highScoreMngr.UNNAMED_PLAYER_NAME, random.nextInt(MAX_SCORE + 1));
+        }
+
+        highScoreMngr.saveHighScores();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException
+    {
+        try (Stream<Path> filePaths = Files.list(directoryPath))
+        {
+            for (Path filePath : (Iterable<Path>)filePaths::iterator)
+            {
+                Files.delete(filePath);
+            }
+        }
+
+        Files.delete(directoryPath);
+    }
+
+    /**
+     * Loads every recorded run from the high score file into the leaderboard, the way the game does when it starts.
+     */
+    @Benchmark
+    public HighScoreManager loadHighScores() throws Exception
+    {
+        highScoreMngr.loadHighScores();
+
+        return highScoreMngr;
+    }
+
+    /**
+     * Records a run and saves it to the high score file, the way the game does when a game is over (on its background thread).
+     */
+    @Benchmark
+    public int recordAndSaveHighScore() throws Exception
+    {
+        final int RANK = highScoreMngr.recordScore(highScoreMngr.UNNAMED_PLAYER_NAME, random.nextInt(MAX_SCORE + 1));
+        highScoreMngr.saveHighScores();
+
+        return RANK;
+    }
+}
@@ -0,0 +1,69 @@
+// File Name:     LeaderboardBenchmark.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.benchmarks;
+
+import com.darianbenam.snake.score.HighScore;
+import com.darianbenam.snake.score.Leaderboard;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Thread)
+public class LeaderboardBenchmark
+{
+    private final int MAX_SCORE = 56205; // The score of a full 50x75 map
+    private final int PAGE_SIZE = 20;
+
+    @Param({ "1000", "1000000" })
+    public int highScoreCount;
+
+    private Leaderboard leaderboard;
+    private SplittableRandom random;
+
+    @Setup
+    public void setup()
+    {
+        leaderboard = new Leaderboard();
+        random = new SplittableRandom(0);
+
+        for (int i = 0; i < highScoreCount; i++)
+        {
+            leaderboard.add("Player " + i, random.nextInt(MAX_SCORE + 1));
+        }
+    }
+
+    @Benchmark
+    public int add()
+    {
+        return leaderboard.add("Player", random.nextInt(MAX_SCORE + 1));
+    }
+
+    @Benchmark
+    public int getRank()
+    {
+        return leaderboard.getRank(random.nextInt(MAX_SCORE + 1));
+    }
+
+    @Benchmark
+    public HighScore[] getPage()
+    {
+        return leaderboard.getPage(random.nextInt(highScoreCount), PAGE_SIZE);
+    }
+}
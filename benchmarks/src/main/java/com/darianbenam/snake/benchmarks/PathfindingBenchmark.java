@@ -0,0 +1,78 @@
+// File Name:     PathfindingBenchmark.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.benchmarks;
+
+import com.darianbenam.snake.game.Direction;
+import com.darianbenam.snake.game.SnakeGame;
+import com.darianbenam.snake.simulation.GreedyStrategy;
+import com.darianbenam.snake.simulation.PathfindingStrategy;
+import com.darianbenam.snake.simulation.SnakeStrategy;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PathfindingBenchmark
+{
+    @Param({ "50", "250", "1000" })
+    public int mapSize;
+
+    private SnakeGame pathfindingGame, greedyGame;
+    private final SnakeStrategy PATHFINDING_STRATEGY = new PathfindingStrategy(), GREEDY_STRATEGY = new GreedyStrategy();
+
+    @Setup
+    public void setup()
+    {
+        pathfindingGame = new SnakeGame(mapSize, mapSize, true, 0);
+        greedyGame = new SnakeGame(mapSize, mapSize, true, 0);
+    }
+
+    /**
+     * Plans the next move of the autopilot and plays it, the way SnakeGameContainer does on every tick while the autopilot is
+     * engaged. Playing the move keeps the snake eating and growing like in a real game and only costs a few nanoseconds of the
+     * total. Planning should not allocate anything (gc.alloc.rate.norm close to 0 B/op with -prof gc).
+     */
+    @Benchmark
+    public Direction pathfinding()
+    {
+        return planAndStep(pathfindingGame, PATHFINDING_STRATEGY);
+    }
+
+    /**
+     * Plans and plays a move with the greedy strategy, which only looks one cell ahead. Kept as the baseline for pathfinding.
+     */
+    @Benchmark
+    public Direction greedy()
+    {
+        return planAndStep(greedyGame, GREEDY_STRATEGY);
+    }
+
+    private Direction planAndStep(SnakeGame game, SnakeStrategy strategy)
+    {
+        if (game.isGameOver())
+        {
+            game.reset();
+        }
+
+        Direction dir = strategy.chooseDirection(game);
+        game.step(dir);
+
+        return dir;
+    }
+}
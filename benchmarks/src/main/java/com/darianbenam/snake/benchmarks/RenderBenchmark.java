@@ -0,0 +1,106 @@
+// File Name:     RenderBenchmark.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.benchmarks;
+
+import com.darianbenam.snake.game.Direction;
+import com.darianbenam.snake.game.FrameExchange;
+import com.darianbenam.snake.game.GameRenderer;
+import com.darianbenam.snake.game.GameState;
+import com.darianbenam.snake.game.SnakeGame;
+import com.darianbenam.snake.game.SnakeGameContainer;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class RenderBenchmark
+{
+    private final Direction[] DIRECTIONS = Direction.values();
+    private final int CELL_SIZE = 10, MAP_HEIGHT = 50, MAP_WIDTH = 75;
+
+    private SnakeGameContainer container;
+    private BufferedImage image;
+    private Graphics2D imageGraphics;
+
+    private SnakeGame game;
+    private FrameExchange frameExchange;
+    private GameRenderer renderer;
+    private int turnCounter = 0;
+
+    @Setup
+    public void setup()
+    {
+        container = new SnakeGameContainer();
+
+        Dimension size = container.getPreferredSize();
+        container.setSize(size);
+
+        image = new BufferedImage(size.width, size.height, BufferedImage.TYPE_INT_RGB);
+        imageGraphics = image.createGraphics();
+
+        game = new SnakeGame(MAP_HEIGHT, MAP_WIDTH, false);
+        frameExchange = new FrameExchange();
+        frameExchange.publishFullRedraw(game);
+        renderer = new GameRenderer(CELL_SIZE, MAP_HEIGHT * CELL_SIZE, MAP_WIDTH * CELL_SIZE);
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        imageGraphics.dispose();
+    }
+
+    /**
+     * Paints the whole snake game container offscreen into a BufferedImage, the same way Swing paints it on screen.
+     */
+    @Benchmark
+    public BufferedImage paintComponent()
+    {
+        container.paint(imageGraphics);
+
+        return image;
+    }
+
+    /**
+     * Steps a game, publishes the frame and renders it, which is the work done for every tick of a running game.
+     */
+    @Benchmark
+    public BufferedImage stepAndRenderFrame()
+    {
+        if (game.isGameOver())
+        {
+            game.reset();
+            frameExchange.publishFullRedraw(game);
+        }
+        else
+        {
+            turnCounter++;
+
+            game.step(DIRECTIONS[(turnCounter >>> 4) & 3]);
+            frameExchange.publish(game);
+        }
+
+        renderer.render(imageGraphics, frameExchange.getLatestFrame(), GameState.Running);
+
+        return image;
+    }
+}
@@ -0,0 +1,115 @@
+// File Name:     ReplaySeekBenchmark.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.benchmarks;
+
+import com.darianbenam.snake.game.Direction;
+import com.darianbenam.snake.game.SnakeGame;
+import com.darianbenam.snake.replay.Replay;
+import com.darianbenam.snake.replay.ReplayPlayer;
+import com.darianbenam.snake.replay.ReplayRecorder;
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Thread)
+public class ReplaySeekBenchmark
+{
+    private final int MAP_HEIGHT = 50, MAP_WIDTH = 75;
+    private final long REPLAY_TICK_COUNT = 1_000_000;
+    private final int SEEK_TARGET_COUNT = 1024;
+
+    @Param({ "100", "1000", "10000" })
+    public int keyframeInterval;
+
+    private ReplayPlayer player;
+    private long[] seekTargets;
+    private int seekIndex = 0;
+
+    /**
+     * Records a game that lasts a million ticks and builds a player for it. The snake follows a cycle that goes through every cell
+     * of the map (back and forth across the rows and back up along the first column), so it never dies and keeps eating food.
+     */
+    @Setup
+    public void setup() throws IOException
+    {
+        SnakeGame game = new SnakeGame(MAP_HEIGHT, MAP_WIDTH, true, 0);
+        ReplayRecorder recorder = new ReplayRecorder();
+
+        recorder.start(game);
+
+        while (!game.isGameOver() && game.getTickCount() < REPLAY_TICK_COUNT)
+        {
+            Direction dir = game.getTickCount() == 0 ? Direction.Up : getCycleDirection(game.getSnake().getHeadCell());
+
+            recorder.recordDirection(game.getTickCount() + 1, dir);
+            game.step(dir);
+        }
+
+        recorder.finish(game.getTickCount());
+
+        player = new ReplayPlayer(Replay.fromBytes(recorder.toByteArray()), keyframeInterval);
+
+        SplittableRandom random = new SplittableRandom(0);
+        seekTargets = new long[SEEK_TARGET_COUNT];
+
+        for (int i = 0; i < SEEK_TARGET_COUNT; i++)
+        {
+            seekTargets[i] = random.nextLong(game.getTickCount() + 1);
+        }
+    }
+
+    @Benchmark
+    public long seek()
+    {
+        player.seek(seekTargets[seekIndex++ & (SEEK_TARGET_COUNT - 1)]);
+
+        return player.getTick();
+    }
+
+    /**
+     * Gets the direction that keeps the snake head on a cycle through every cell of the map. Even rows are crossed to the right and
+     * odd rows to the left (stopping at the second column), and the first column is used to go back up to the first row.
+     *
+     * @param headCell The cell of the snake head.
+     * @return The direction to move in.
+     */
+    private Direction getCycleDirection(int headCell)
+    {
+        final int X = headCell % MAP_WIDTH, Y = headCell / MAP_WIDTH;
+
+        if (X == 0)
+        {
+            return Y == 0 ? Direction.Right : Direction.Up;
+        }
+
+        if (Y % 2 == 0)
+        {
+            return X < MAP_WIDTH - 1 ? Direction.Right : Direction.Down;
+        }
+
+        if (X > 1)
+        {
+            return Direction.Left;
+        }
+
+        return Y == MAP_HEIGHT - 1 ? Direction.Left : Direction.Down;
+    }
+}
@@ -0,0 +1,71 @@
+// File Name:     SnakeBenchmark.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.benchmarks;
+
+import com.darianbenam.snake.game.Direction;
+import com.darianbenam.snake.game.Snake;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SnakeBenchmark
+{
+    @Param({ "3", "100", "1000", "10000", "100000" })
+    public int snakeLength;
+
+    private Snake snake;
+    private int bodyCell, emptyCell;
+
+    /**
+     * Creates a snake on a map that is one row high and twice as wide as the snake. Since there are no walls, the snake can move
+     * right forever without running into itself, so every move measures the same amount of work for a given length.
+     */
+    @Setup
+    public void setup()
+    {
+        snake = new Snake(snakeLength - 1, false, 1, snakeLength * 2);
+
+        for (int i = 1; i < snakeLength; i++)
+        {
+            snake.addBodyPart(Direction.Left);
+        }
+
+        bodyCell = snakeLength / 2;
+        emptyCell = snakeLength + snakeLength / 2;
+    }
+
+    @Benchmark
+    public Object move()
+    {
+        return snake.move(Direction.Right);
+    }
+
+    @Benchmark
+    public boolean willCollideWithBody()
+    {
+        return snake.willCollideWithBody(bodyCell);
+    }
+
+    @Benchmark
+    public boolean willCollideWithEmptyCell()
+    {
+        return snake.willCollideWithBody(emptyCell);
+    }
+}
@@ -0,0 +1,111 @@
+// File Name:     ActiveRenderCanvas.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.game;
+
+import java.awt.Canvas;
+import java.awt.Graphics;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+
+public class ActiveRenderCanvas extends Canvas
+{
+    private static final long serialVersionUID = 1L;
+
+    private final int BUFFER_COUNT = 2;
+
+    private final Runnable exposedHandler;
+
+    /**
+     * Creates a canvas that is drawn to directly (actively) through a BufferStrategy instead of waiting for the repaint manager.
+     *
+     * @param exposedHandler Called on the EDT when the operating system asks for the canvas to be painted (ex: after the window
+     *                       was covered), since the canvas has to be redrawn even if the game is not ticking.
+     */
+    public ActiveRenderCanvas(Runnable exposedHandler)
+    {
+        this.exposedHandler = exposedHandler;
+
+        this.setBackground(GameRenderer.BG_COLOUR);
+        this.setFocusable(false); // Keyboard input is handled by the window
+    }
+
+    /**
+     * Creates the buffer strategy once the canvas has a native peer.
+     */
+    @Override
+    public void addNotify()
+    {
+        super.addNotify();
+
+        createBufferStrategy(BUFFER_COUNT);
+    }
+
+    /**
+     * Draws a frame on the back buffer and shows it. If the contents of the buffers are lost while drawing (ex: the display mode
+     * changed), the frame is drawn again until it is shown in full. This method does nothing if the canvas is not displayable.
+     *
+     * @param renderer The renderer used to draw the frame.
+     * @param frame The frame to draw.
+     * @param state The state of the game.
+     */
+    public void renderFrame(GameRenderer renderer, GameFrame frame, GameState state)
+    {
+        renderFrame(renderer, frame, state, 1);
+    }
+
+    /**
+     * Draws a frame with the snake drawn part of the way between the previous step and the step of the frame, and shows it.
+     *
+     * @param renderer The renderer used to draw the frame.
+     * @param frame The frame to draw.
+     * @param state The state of the game.
+     * @param progress How far the snake is between the previous step (0) and the step of the frame (1).
+     */
+    public void renderFrame(GameRenderer renderer, GameFrame frame, GameState state, double progress)
+    {
+        BufferStrategy bufferStrategy = this.getBufferStrategy();
+
+        if (bufferStrategy == null || !this.isDisplayable())
+        {
+            return;
+        }
+
+        do
+        {
+            do
+            {
+                Graphics g = bufferStrategy.getDrawGraphics();
+
+                try
+                {
+                    renderer.render(g, frame, state, progress);
+                }
+                finally
+                {
+                    g.dispose();
+                }
+            }
+            while (bufferStrategy.contentsRestored());
+
+            bufferStrategy.show();
+        }
+        while (bufferStrategy.contentsLost());
+
+        // Flush the drawing commands to the display right away, otherwise X11 can buffer them and make the frame pacing uneven
+        Toolkit.getDefaultToolkit().sync();
+    }
+
+    @Override
+    public void paint(Graphics g)
+    {
+        exposedHandler.run();
+    }
+
+    @Override
+    public void update(Graphics g)
+    {
+        exposedHandler.run(); // Skips clearing the canvas before painting, which would make it flicker
+    }
+}
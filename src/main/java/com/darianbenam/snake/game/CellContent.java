@@ -0,0 +1,12 @@
+// File Name:     CellContent.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.game;
+
+public enum CellContent
+{
+    Empty,
+    Food,
+    Snake
+}
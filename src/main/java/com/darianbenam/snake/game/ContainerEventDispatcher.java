@@ -0,0 +1,130 @@
+// File Name:     ContainerEventDispatcher.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.game;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.swing.SwingUtilities;
+
+public class ContainerEventDispatcher
+{
+    private final CopyOnWriteArrayList<SnakeGameContainerListener> listeners = new CopyOnWriteArrayList<SnakeGameContainerListener>();
+    private final AtomicBoolean scoreUpdatePending = new AtomicBoolean(false);
+
+    private final Runnable DISPATCH_GAME_STARTED = this::dispatchGameStarted;
+    private final Runnable DISPATCH_SCORE_UPDATED = this::dispatchScoreUpdated;
+
+    /**
+     * Adds a listener. Listeners can be added and removed from any thread, even while an event is being dispatched, since every
+     * change copies the list and an event is dispatched to the list as it was when the event started.
+     *
+     * @param listener The listener to add.
+     */
+    public void addListener(SnakeGameContainerListener listener)
+    {
+        listeners.add(listener);
+    }
+
+    public void removeListener(SnakeGameContainerListener listener)
+    {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Notifies the listeners on the event dispatch thread that the game started. Like every fire method, this returns right away
+     * and never waits on the listeners, so it is safe to call from the game loop thread.
+     */
+    public void fireGameStarted()
+    {
+        post(DISPATCH_GAME_STARTED);
+    }
+
+    /**
+     * Notifies the listeners on the event dispatch thread that the game is over. The outcome of the game is passed along with the
+     * event since a new game can already be started by the time the listeners run.
+     *
+     * @param finalScore The score of the game when it ended.
+     * @param assisted Whether any tick of the game was played by the autopilot or at uncapped speed.
+     */
+    public void fireGameOver(int finalScore, boolean assisted)
+    {
+        post(() -> dispatchGameOver(finalScore, assisted));
+    }
+
+    /**
+     * Notifies the listeners on the event dispatch thread that the game was won.
+     *
+     * @param finalScore The score of the game when it was won.
+     * @param assisted Whether any tick of the game was played by the autopilot or at uncapped speed.
+     */
+    public void fireGameWon(int finalScore, boolean assisted)
+    {
+        post(() -> dispatchGameWon(finalScore, assisted));
+    }
+
+    /**
+     * Notifies the listeners on the event dispatch thread that the score was updated. Score updates that are fired before the
+     * event dispatch thread gets to the last one are merged into it, since the listeners read the current score when they are
+     * notified anyway.
+     */
+    public void fireScoreUpdated()
+    {
+        if (scoreUpdatePending.compareAndSet(false, true))
+        {
+            post(DISPATCH_SCORE_UPDATED);
+        }
+    }
+
+    /**
+     * Queues the dispatch of an event on the event dispatch thread. Nothing is queued if there are no listeners.
+     *
+     * @param dispatcher The runnable that calls the listeners.
+     */
+    private void post(Runnable dispatcher)
+    {
+        if (!listeners.isEmpty())
+        {
+            SwingUtilities.invokeLater(dispatcher);
+        }
+        else if (dispatcher == DISPATCH_SCORE_UPDATED)
+        {
+            scoreUpdatePending.set(false);
+        }
+    }
+
+    private void dispatchGameStarted()
+    {
+        for (SnakeGameContainerListener listener : listeners)
+        {
+            listener.onGameStarted();
+        }
+    }
+
+    private void dispatchGameOver(int finalScore, boolean assisted)
+    {
+        for (SnakeGameContainerListener listener : listeners)
+        {
+            listener.onGameOver(finalScore, assisted);
+        }
+    }
+
+    private void dispatchGameWon(int finalScore, boolean assisted)
+    {
+        for (SnakeGameContainerListener listener : listeners)
+        {
+            listener.onGameWon(finalScore, assisted);
+        }
+    }
+
+    private void dispatchScoreUpdated()
+    {
+        scoreUpdatePending.set(false); // Cleared first so that an update fired while the listeners run is dispatched again
+
+        for (SnakeGameContainerListener listener : listeners)
+        {
+            listener.onScoreUpdated();
+        }
+    }
+}
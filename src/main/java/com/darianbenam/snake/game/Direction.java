@@ -9,5 +9,34 @@ public enum Direction
     Down,
     Left,
     Right,
-    Up
+    Up;
+
+    /**
+     * Gets the opposite direction of this direction.
+     *
+     * @return The direction that is opposite of this direction.
+     */
+    public Direction getOpposite()
+    {
+        Direction oppDir;
+
+        if (this == Direction.Down)
+        {
+            oppDir = Direction.Up;
+        }
+        else if (this == Direction.Right)
+        {
+            oppDir = Direction.Left;
+        }
+        else if (this == Direction.Left)
+        {
+            oppDir = Direction.Right;
+        }
+        else // this equals Up
+        {
+            oppDir = Direction.Down;
+        }
+
+        return oppDir;
+    }
 }
@@ -0,0 +1,121 @@
+// File Name:     FrameDecimator.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.game;
+
+import java.awt.DisplayMode;
+import java.awt.GraphicsEnvironment;
+import java.awt.HeadlessException;
+import java.util.concurrent.TimeUnit;
+
+public class FrameDecimator
+{
+    public static final int DEFAULT_REFRESH_RATE = 60;
+
+    private volatile long minFrameIntervalNs;
+    private volatile int tickInterval = 1;
+    private long lastFrameNs; // Only used by the game loop thread while the game loop is running
+    private int ticksSinceFrame; // Only used by the game loop thread while the game loop is running
+
+    /**
+     * Creates a decimator which decides on which ticks of the game loop a frame should be drawn. When the game ticks slower than the
+     * display refreshes, every tick gets a frame, but when it ticks faster (ex: at uncapped speed) the ticks in between two frames
+     * are only simulated, which keeps the game loop from spending its time on frames that would never be seen.
+     *
+     * @param minFrameIntervalNs The least amount of time between two frames, in nanoseconds.
+     */
+    public FrameDecimator(long minFrameIntervalNs)
+    {
+        this.minFrameIntervalNs = minFrameIntervalNs;
+
+        reset(System.nanoTime());
+    }
+
+    /**
+     * Gets the time between two refreshes of the default screen.
+     *
+     * @return The refresh interval of the display, in nanoseconds, or the interval of DEFAULT_REFRESH_RATE if it is unknown.
+     */
+    public static long getDisplayRefreshIntervalNs()
+    {
+        int refreshRate = DisplayMode.REFRESH_RATE_UNKNOWN;
+
+        try
+        {
+            if (!GraphicsEnvironment.isHeadless())
+            {
+                refreshRate = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDisplayMode().getRefreshRate();
+            }
+        }
+        catch (HeadlessException ex)
+        {
+            refreshRate = DisplayMode.REFRESH_RATE_UNKNOWN;
+        }
+
+        if (refreshRate <= 0)
+        {
+            refreshRate = DEFAULT_REFRESH_RATE;
+        }
+
+        return TimeUnit.SECONDS.toNanos(1) / refreshRate;
+    }
+
+    public long getMinFrameIntervalNs()
+    {
+        return minFrameIntervalNs;
+    }
+
+    public int getTickInterval()
+    {
+        return tickInterval;
+    }
+
+    public void setMinFrameIntervalNs(long minFrameIntervalNs)
+    {
+        this.minFrameIntervalNs = minFrameIntervalNs;
+    }
+
+    /**
+     * Changes how many ticks have to be run between two frames. Frames are still never drawn closer together than the minimum frame
+     * interval.
+     *
+     * @param tickInterval A frame is drawn at most once every this many ticks (1 draws a frame on every tick that is allowed to).
+     */
+    public void setTickInterval(int tickInterval)
+    {
+        this.tickInterval = Math.max(1, tickInterval);
+    }
+
+    /**
+     * Counts a tick of the game loop and decides whether it should be drawn. This may only be called from the game loop thread.
+     *
+     * @param nowNs The current value of System.nanoTime().
+     * @return True if a frame should be drawn for this tick, if not, false.
+     */
+    public boolean isFrameDue(long nowNs)
+    {
+        ticksSinceFrame++;
+
+        if (ticksSinceFrame < tickInterval || nowNs - lastFrameNs < minFrameIntervalNs)
+        {
+            return false;
+        }
+
+        ticksSinceFrame = 0;
+        lastFrameNs = nowNs;
+
+        return true;
+    }
+
+    /**
+     * Makes the next tick get a frame no matter when the last frame was drawn. This may only be called while the game loop is stopped.
+     *
+     * @param nowNs The current value of System.nanoTime().
+     */
+    public void reset(long nowNs)
+    {
+        ticksSinceFrame = tickInterval;
+        lastFrameNs = nowNs - minFrameIntervalNs;
+    }
+}
@@ -0,0 +1,106 @@
+// File Name:     FrameExchange.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.game;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class FrameExchange
+{
+    private final int INDEX_MASK = 0b011, FRESH_BIT = 0b100;
+
+    // Triple buffer: the writer owns one frame, the reader owns another and the third one is shared between them. Publishing and
+    // picking up a frame are both a single atomic swap of the shared index, so neither side ever waits for the other and the reader
+    // never sees a frame that is being written to.
+    private final GameFrame[] frames = { new GameFrame(), new GameFrame(), new GameFrame() };
+    private final AtomicInteger sharedIndex = new AtomicInteger(1);
+    private final GameFrame skippedCells = new GameFrame(); // Only holds the dirty cells of the steps that were not published
+    private int writeIndex = 0, readIndex = 2;
+    private long publishSequence = 0;
+
+    /**
+     * Creates an exchange that passes frames from the thread that steps a game (the writer) to the thread that draws it (the reader).
+     */
+    public FrameExchange()
+    {
+        skippedCells.clearDirtyCells(false); // A new frame is a full redraw until it is cleared
+    }
+
+    /**
+     * Copies the current state of a game into the frame owned by the writer, along with the cells that changed during its last step,
+     * and publishes it as the latest frame. Only one thread may publish at a time.
+     *
+     * @param game The game that was just stepped.
+     */
+    public void publish(SnakeGame game)
+    {
+        publish(game, false);
+    }
+
+    /**
+     * Publishes the current state of a game as a frame that redraws the whole map. This should be used instead of publish when the
+     * game was not just stepped (ex: after it was reset). Only one thread may publish at a time.
+     *
+     * @param game The game to publish a frame of.
+     */
+    public void publishFullRedraw(SnakeGame game)
+    {
+        publish(game, true);
+    }
+
+    /**
+     * Keeps the cells that changed during the last step of a game without publishing a frame, so that the step does not have to be
+     * drawn (ex: when the game ticks faster than the display refreshes). The cells are added to the next frame that is published.
+     * Only the thread that publishes frames may call this method.
+     *
+     * @param game The game that was just stepped.
+     */
+    public void skip(SnakeGame game)
+    {
+        skippedCells.addDirtyCells(game);
+    }
+
+    /**
+     * Publishes a frame of a game. If the previously published frame was never picked up by the reader, its dirty cells are carried
+     * over into the new frame so that the reader does not miss any change. If the reader picks it up in the meantime, it applies
+     * those cells twice, which gives the same result since dirty cells are applied in order.
+     *
+     * @param game The game to publish a frame of.
+     * @param fullRedraw Whether the frame should redraw the whole map.
+     */
+    private void publish(SnakeGame game, boolean fullRedraw)
+    {
+        GameFrame frame = frames[writeIndex];
+        frame.clearDirtyCells(fullRedraw);
+
+        int currentSharedIndex = sharedIndex.get();
+        if ((currentSharedIndex & FRESH_BIT) != 0)
+        {
+            frame.addDirtyCells(frames[currentSharedIndex & INDEX_MASK]);
+        }
+
+        frame.addDirtyCells(skippedCells);
+        skippedCells.clearDirtyCells(false);
+        frame.addDirtyCells(game);
+        frame.capture(game, ++publishSequence, !fullRedraw);
+
+        writeIndex = sharedIndex.getAndSet(writeIndex | FRESH_BIT) & INDEX_MASK;
+    }
+
+    /**
+     * Gets the latest published frame. If nothing was published since the last call, the same frame is returned again. Only one
+     * thread may read frames and the returned frame must not be used after the next call to this method.
+     *
+     * @return The latest published frame.
+     */
+    public GameFrame getLatestFrame()
+    {
+        if ((sharedIndex.get() & FRESH_BIT) != 0)
+        {
+            readIndex = sharedIndex.getAndSet(readIndex) & INDEX_MASK;
+        }
+
+        return frames[readIndex];
+    }
+}
@@ -0,0 +1,139 @@
+// File Name:     FreeCellIndex.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.game;
+
+public class FreeCellIndex
+{
+    // Every cell of the map appears exactly once in the cells array. The first freeCount entries are the free cells and the rest
+    // are the occupied cells, while cellPositions maps a cell back to where it currently is in the cells array. Marking a cell as
+    // free or occupied swaps it across the boundary between the two groups, so both operations are constant time.
+    private final int[] cells, cellPositions;
+    private int freeCount;
+
+    /**
+     * Creates a new free cell index where every cell of the map starts out as free.
+     *
+     * @param cellCount The total amount of cells on the map.
+     */
+    public FreeCellIndex(int cellCount)
+    {
+        cells = new int[cellCount];
+        cellPositions = new int[cellCount];
+
+        reset();
+    }
+
+    public int getFreeCount()
+    {
+        return freeCount;
+    }
+
+    /**
+     * Gets a free cell by its position in the index. The order of the free cells is arbitrary and changes as cells are marked, but
+     * every position between 0 and getFreeCount() - 1 always holds a free cell, which makes picking a random free cell constant
+     * time.
+     *
+     * @param position A number between 0 and getFreeCount() - 1.
+     * @return The index of the free cell (y * mapWidth + x).
+     */
+    public int getFreeCell(int position)
+    {
+        return cells[position];
+    }
+
+    public boolean isFree(int cell)
+    {
+        return cellPositions[cell] < freeCount;
+    }
+
+    /**
+     * Marks a cell as occupied. Nothing happens if the cell is already occupied.
+     *
+     * @param cell The index of the cell (y * mapWidth + x).
+     */
+    public void markOccupied(int cell)
+    {
+        if (isFree(cell))
+        {
+            freeCount--;
+            swap(cellPositions[cell], freeCount);
+        }
+    }
+
+    /**
+     * Marks a cell as free. Nothing happens if the cell is already free.
+     *
+     * @param cell The index of the cell (y * mapWidth + x).
+     */
+    public void markFree(int cell)
+    {
+        if (!isFree(cell))
+        {
+            swap(cellPositions[cell], freeCount);
+            freeCount++;
+        }
+    }
+
+    /**
+     * Marks every cell as free and puts the cells back in their initial order. The order of the free cells depends on the order in
+     * which cells were marked, so this makes picking a free cell by its position independent of what happened before the reset.
+     */
+    public void reset()
+    {
+        for (int i = 0; i < cells.length; i++)
+        {
+            cells[i] = i;
+            cellPositions[i] = i;
+        }
+
+        freeCount = cells.length;
+    }
+
+    /**
+     * Copies every cell of the index, in their current order, into an array. Together with getFreeCount() this is everything that
+     * is needed to restore the index later on.
+     *
+     * @param dest The array to copy the cells into. It must be able to hold every cell of the map.
+     */
+    public void copyCells(int[] dest)
+    {
+        System.arraycopy(cells, 0, dest, 0, cells.length);
+    }
+
+    /**
+     * Restores the index to a state that was saved with copyCells.
+     *
+     * @param savedCells The cells that were copied by copyCells.
+     * @param savedFreeCount The amount of free cells at the time the cells were copied.
+     */
+    public void restore(int[] savedCells, int savedFreeCount)
+    {
+        System.arraycopy(savedCells, 0, cells, 0, cells.length);
+
+        for (int i = 0; i < cells.length; i++)
+        {
+            cellPositions[cells[i]] = i;
+        }
+
+        freeCount = savedFreeCount;
+    }
+
+    /**
+     * Swaps the cells at two positions and updates where each of them is located.
+     *
+     * @param firstPosition The position of the first cell.
+     * @param secondPosition The position of the second cell.
+     */
+    private void swap(int firstPosition, int secondPosition)
+    {
+        int firstCell = cells[firstPosition];
+        int secondCell = cells[secondPosition];
+
+        cells[firstPosition] = secondCell;
+        cells[secondPosition] = firstCell;
+        cellPositions[secondCell] = firstPosition;
+        cellPositions[firstCell] = secondPosition;
+    }
+}
@@ -0,0 +1,247 @@
+// File Name:     GameFrame.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.game;
+
+public class GameFrame
+{
+    public static final int MAX_DIRTY_CELLS = 256;
+
+    private final CellContent[] dirtyCellContents = new CellContent[MAX_DIRTY_CELLS];
+    private final int[] dirtyCells = new int[MAX_DIRTY_CELLS];
+    private int dirtyCellCount = 0;
+    private boolean fullRedraw = true;
+
+    private int[] bodyCells = new int[16];
+    private int bodyLength, foodCell, mapHeight, mapWidth, score;
+    private int vacatedTailCell = -1;
+    private long captureTimeNs, publishSequence, tickCount;
+    private boolean gameOver, gameWon, stepped;
+
+    /**
+     * Gets the cell of a snake body part in this frame. Body parts are ordered from the head to the tail and each cell is packed as
+     * y * mapWidth + x.
+     *
+     * @param index The index of the body part, where 0 is the head and getBodyLength() - 1 is the tail.
+     * @return The packed cell of the body part.
+     */
+    public int getBodyCell(int index)
+    {
+        return bodyCells[index];
+    }
+
+    public int getBodyLength()
+    {
+        return bodyLength;
+    }
+
+    /**
+     * Gets when the state of the game was copied into this frame, which is right after the step that this frame shows.
+     *
+     * @return The value of System.nanoTime() when this frame was captured.
+     */
+    public long getCaptureTimeNs()
+    {
+        return captureTimeNs;
+    }
+
+    /**
+     * Gets a cell that changed since the last frame that was picked up by the reader. The dirty cells have to be applied in order
+     * since the same cell can appear more than once.
+     *
+     * @param index A number between 0 and getDirtyCellCount() - 1.
+     * @return The packed cell that changed (y * mapWidth + x).
+     */
+    public int getDirtyCell(int index)
+    {
+        return dirtyCells[index];
+    }
+
+    public CellContent getDirtyCellContent(int index)
+    {
+        return dirtyCellContents[index];
+    }
+
+    public int getDirtyCellCount()
+    {
+        return dirtyCellCount;
+    }
+
+    public int getFoodCell()
+    {
+        return foodCell;
+    }
+
+    public int getMapHeight()
+    {
+        return mapHeight;
+    }
+
+    public int getMapWidth()
+    {
+        return mapWidth;
+    }
+
+    /**
+     * Gets the sequence number of this frame. Every published frame gets a higher sequence number than the frame before it, which
+     * lets a reader tell whether it already applied a frame.
+     *
+     * @return The sequence number of this frame.
+     */
+    public long getPublishSequence()
+    {
+        return publishSequence;
+    }
+
+    public int getScore()
+    {
+        return score;
+    }
+
+    public long getTickCount()
+    {
+        return tickCount;
+    }
+
+    /**
+     * Gets the cell that the tail of the snake left during the step that this frame shows.
+     *
+     * @return The packed cell that the tail left (y * mapWidth + x), or -1 if the tail did not move (ex: the snake grew).
+     */
+    public int getVacatedTailCell()
+    {
+        return vacatedTailCell;
+    }
+
+    public boolean isGameOver()
+    {
+        return gameOver;
+    }
+
+    public boolean isGameWon()
+    {
+        return gameWon;
+    }
+
+    /**
+     * States whether this frame shows the game right after it was stepped, in which case the head and tail of the snake moved by one
+     * cell from where they were in the previous step and can be drawn in between. Frames that were published for any other reason
+     * (ex: after the game was reset) were not stepped.
+     *
+     * @return True if the game was just stepped, if not, false.
+     */
+    public boolean isStepped()
+    {
+        return stepped;
+    }
+
+    /**
+     * States whether the dirty cells of this frame cannot be used and the whole map has to be redrawn from the body and food of this
+     * frame instead. This happens when a new game is started or when too many cells changed since the last frame that was read.
+     *
+     * @return True if the whole map has to be redrawn, if not, false.
+     */
+    public boolean isFullRedraw()
+    {
+        return fullRedraw;
+    }
+
+    /**
+     * Clears the dirty cells of this frame. This is called before a frame is reused.
+     *
+     * @param fullRedraw Whether the next frame should redraw the whole map.
+     */
+    void clearDirtyCells(boolean fullRedraw)
+    {
+        this.dirtyCellCount = 0;
+        this.fullRedraw = fullRedraw;
+    }
+
+    /**
+     * Adds the dirty cells of another frame to this frame. If the other frame is a full redraw, this frame becomes one too.
+     *
+     * @param frame The frame to copy the dirty cells of.
+     */
+    void addDirtyCells(GameFrame frame)
+    {
+        if (frame.fullRedraw || dirtyCellCount + frame.dirtyCellCount > MAX_DIRTY_CELLS)
+        {
+            fullRedraw = true;
+        }
+
+        if (fullRedraw)
+        {
+            return;
+        }
+
+        System.arraycopy(frame.dirtyCells, 0, dirtyCells, dirtyCellCount, frame.dirtyCellCount);
+        System.arraycopy(frame.dirtyCellContents, 0, dirtyCellContents, dirtyCellCount, frame.dirtyCellCount);
+        dirtyCellCount += frame.dirtyCellCount;
+    }
+
+    /**
+     * Adds the cells that changed during the last step of a game to this frame. If there are more dirty cells than fit in the frame,
+     * the frame is turned into a full redraw.
+     *
+     * @param game The game that was just stepped.
+     */
+    void addDirtyCells(SnakeGame game)
+    {
+        if (fullRedraw)
+        {
+            return;
+        }
+
+        if (dirtyCellCount + game.getDirtyCellCount() > MAX_DIRTY_CELLS)
+        {
+            fullRedraw = true;
+
+            return;
+        }
+
+        for (int i = 0; i < game.getDirtyCellCount(); i++)
+        {
+            dirtyCells[dirtyCellCount] = game.getDirtyCell(i);
+            dirtyCellContents[dirtyCellCount] = game.getDirtyCellContent(i);
+            dirtyCellCount++;
+        }
+    }
+
+    /**
+     * Copies the current state of a game into this frame. This is only ever called on a frame that is owned by the writer of a
+     * FrameExchange, so readers never see a frame while it is being filled.
+     *
+     * @param game The game to copy the state of.
+     * @param publishSequence The sequence number of this frame.
+     * @param stepped Whether the game was just stepped.
+     */
+    void capture(SnakeGame game, long publishSequence, boolean stepped)
+    {
+        this.captureTimeNs = System.nanoTime();
+        this.publishSequence = publishSequence;
+        this.stepped = stepped;
+
+        Snake snake = game.getSnake();
+
+        mapHeight = game.MAP_HEIGHT;
+        mapWidth = game.MAP_WIDTH;
+        bodyLength = snake.getLength();
+
+        if (bodyCells.length < bodyLength)
+        {
+            bodyCells = new int[Math.max(bodyLength, bodyCells.length * 2)];
+        }
+
+        snake.copyBodyCells(bodyCells);
+
+        // The tail is taken back when the snake grows, in which case it did not move
+        vacatedTailCell = stepped && snake.getTailLastCell() != bodyCells[bodyLength - 1] ? snake.getTailLastCell() : -1;
+
+        foodCell = game.getFoodCell();
+        score = game.getScore();
+        tickCount = game.getTickCount();
+        gameOver = game.isGameOver();
+        gameWon = game.isGameWon();
+    }
+}
@@ -0,0 +1,362 @@
+// File Name:     GameLoopScheduler.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.game;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+public class GameLoopScheduler
+{
+    public final int MAX_CATCH_UP_TICKS = 5;
+    private final long SPIN_THRESHOLD_NS = 250_000;
+    private final String THREAD_NAME;
+
+    // Fair, so that a thread waiting in stop or runBetweenTicks gets the lock as soon as the tick in progress ends. With an unfair
+    // lock, the worker takes the lock again right away at uncapped speed and can keep the waiting thread (ex: the EDT) out for long.
+    private final ReentrantLock tickLock = new ReentrantLock(true);
+    private volatile MissedTickPolicy missedTickPolicy;
+    private volatile Runnable currentTickTask;
+    private volatile boolean paused = false;
+    private volatile long droppedTickCount = 0;
+    private volatile long tickPeriodNs;
+    private volatile Consumer<Throwable> failureHandler;
+    private volatile Thread workerThread;
+    private long nextDeadlineNs; // Only used by the worker thread
+    private long lastTickJitterNs = 0; // Only used by the worker thread
+
+    /**
+     * Creates a fixed timestep scheduler which runs a tick task at a constant rate on a single long-lived daemon thread. Deadlines are
+     * tracked with System.nanoTime() and are advanced by exactly one period per tick, so the time it takes to run a tick does not
+     * make the loop drift. The worker thread is only created once the first task is started and is reused for every task after it.
+     *
+     * @param threadName The name of the worker thread.
+     * @param tickPeriodNs The amount of time between two ticks, in nanoseconds.
+     * @param missedTickPolicy What to do when the worker falls behind schedule.
+     */
+    public GameLoopScheduler(String threadName, long tickPeriodNs, MissedTickPolicy missedTickPolicy)
+    {
+        this.THREAD_NAME = threadName;
+        this.tickPeriodNs = tickPeriodNs;
+        this.missedTickPolicy = missedTickPolicy;
+    }
+
+    /**
+     * Gets the amount of ticks that were dropped because the worker fell too far behind schedule.
+     *
+     * @return The total amount of dropped ticks since this scheduler was created.
+     */
+    public long getDroppedTickCount()
+    {
+        return droppedTickCount;
+    }
+
+    /**
+     * Gets how late the tick that is running started compared to its deadline. This may only be called from the tick task.
+     *
+     * @return The lateness of the current tick, in nanoseconds.
+     */
+    public long getLastTickJitterNs()
+    {
+        return lastTickJitterNs;
+    }
+
+    public MissedTickPolicy getMissedTickPolicy()
+    {
+        return missedTickPolicy;
+    }
+
+    public long getTickPeriodNs()
+    {
+        return tickPeriodNs;
+    }
+
+    public boolean isPaused()
+    {
+        return paused;
+    }
+
+    public boolean isRunning()
+    {
+        return currentTickTask != null;
+    }
+
+    /**
+     * Pauses the current tick task. While paused, the worker thread is parked and uses no CPU time. A tick that is in progress
+     * finishes normally.
+     */
+    public void pause()
+    {
+        paused = true;
+
+        wakeWorker();
+    }
+
+    /**
+     * Resumes the current tick task after it was paused. The worker thread is woken up right away and the time spent paused is not
+     * counted, so the next tick runs after whatever was left of the tick period when the task was paused.
+     */
+    public void resume()
+    {
+        paused = false;
+
+        wakeWorker();
+    }
+
+    /**
+     * Sets what is called when a tick throws. The task that threw is stopped, but the worker thread keeps running so that the
+     * scheduler can be started again. Until a handler is set, failures are passed to the uncaught exception handler of the worker
+     * thread.
+     *
+     * @param failureHandler Called on the worker thread with whatever the tick threw, or null to go back to the default handler.
+     */
+    public void setFailureHandler(Consumer<Throwable> failureHandler)
+    {
+        this.failureHandler = failureHandler;
+    }
+
+    public void setMissedTickPolicy(MissedTickPolicy missedTickPolicy)
+    {
+        this.missedTickPolicy = missedTickPolicy;
+    }
+
+    /**
+     * Changes the amount of time between two ticks. The new period is used starting from the next scheduled tick.
+     *
+     * @param tickPeriodNs The amount of time between two ticks, in nanoseconds. A period of zero runs the ticks back to back as
+     *                     fast as possible.
+     */
+    public void setTickPeriodNs(long tickPeriodNs)
+    {
+        this.tickPeriodNs = tickPeriodNs;
+    }
+
+    /**
+     * Starts running a tick task on the worker thread. The first tick runs right away and the following ticks run once every tick
+     * period. If another task is already running, it is replaced by this one.
+     *
+     * @param tickTask The task to run on every tick.
+     */
+    public synchronized void start(Runnable tickTask)
+    {
+        if (workerThread == null)
+        {
+            workerThread = new Thread(this::runWorker, THREAD_NAME);
+            workerThread.setDaemon(true);
+            workerThread.start();
+        }
+
+        paused = false;
+        currentTickTask = tickTask;
+
+        LockSupport.unpark(workerThread);
+    }
+
+    /**
+     * Stops running the current tick task. When called from a thread other than the worker thread, this method waits until a tick
+     * that is in progress is finished, so after it returns the task will not be run again. When called from inside a tick, the
+     * current tick finishes normally and no more ticks are run.
+     */
+    public void stop()
+    {
+        currentTickTask = null;
+        paused = false;
+
+        Thread worker = workerThread;
+        if (worker != null && Thread.currentThread() != worker)
+        {
+            LockSupport.unpark(worker);
+
+            // Wait for a tick that is in progress to finish
+            tickLock.lock();
+            tickLock.unlock();
+        }
+    }
+
+    /**
+     * Runs a task on the calling thread while no tick is in progress. If a tick is in progress, this method waits until it is finished
+     * before running the task. The task must not take long, since ticks wait for it.
+     *
+     * @param task The task to run between two ticks.
+     */
+    public void runBetweenTicks(Runnable task)
+    {
+        tickLock.lock();
+
+        try
+        {
+            task.run();
+        }
+        finally
+        {
+            tickLock.unlock();
+        }
+    }
+
+    /**
+     * Unparks the worker thread so that it notices a change of state right away instead of at its next deadline.
+     */
+    private void wakeWorker()
+    {
+        Thread worker = workerThread;
+        if (worker != null)
+        {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    /**
+     * The body of the worker thread. The worker is a small state machine: while there is no task it is idle and parked, once a task
+     * is started it runs it on schedule, while the task is paused it is parked again, and once the task is stopped or replaced it
+     * goes back to being idle.
+     */
+    private void runWorker()
+    {
+        while (true)
+        {
+            Runnable tickTask = currentTickTask;
+
+            if (tickTask == null)
+            {
+                LockSupport.park(this);
+
+                continue;
+            }
+
+            nextDeadlineNs = System.nanoTime();
+
+            while (waitForDeadline(tickTask))
+            {
+                tickLock.lock();
+
+                try
+                {
+                    if (currentTickTask == tickTask) // The task could have been stopped while this thread was waiting for the lock
+                    {
+                        lastTickJitterNs = System.nanoTime() - nextDeadlineNs;
+                        tickTask.run();
+                    }
+                }
+                catch (Throwable ex) // Errors too (ex: a StackOverflowError), or the worker would die while the task still looks running
+                {
+                    if (currentTickTask == tickTask) // A task that replaced it in the meantime keeps running
+                    {
+                        stop();
+                    }
+
+                    reportFailure(ex);
+                }
+                finally
+                {
+                    tickLock.unlock();
+                }
+
+                scheduleNextDeadline();
+            }
+        }
+    }
+
+    /**
+     * Passes a failure of a tick to the failure handler, or to the uncaught exception handler of the worker thread if there is none.
+     * A handler that throws is not allowed to kill the worker thread either.
+     *
+     * @param failure What the tick threw.
+     */
+    private void reportFailure(Throwable failure)
+    {
+        final Consumer<Throwable> HANDLER = failureHandler;
+        final Thread WORKER = Thread.currentThread();
+
+        try
+        {
+            if (HANDLER != null)
+            {
+                HANDLER.accept(failure);
+            }
+            else
+            {
+                WORKER.getUncaughtExceptionHandler().uncaughtException(WORKER, failure);
+            }
+        }
+        catch (Throwable ex)
+        {
+            WORKER.getUncaughtExceptionHandler().uncaughtException(WORKER, ex);
+        }
+    }
+
+    /**
+     * Blocks the worker thread until the next deadline is reached. The thread is parked until it is close to the deadline and then
+     * yields for the remaining time, which keeps the wake up time precise without burning a core. While the task is paused, the
+     * thread is parked until it is resumed and the deadline is pushed back by the time that was spent paused.
+     *
+     * @param tickTask The task that the deadline belongs to.
+     * @return True if the deadline was reached, or false if the task was stopped or replaced while waiting.
+     */
+    private boolean waitForDeadline(Runnable tickTask)
+    {
+        while (currentTickTask == tickTask)
+        {
+            if (paused)
+            {
+                long pausedAtNs = System.nanoTime();
+
+                while (paused && currentTickTask == tickTask)
+                {
+                    LockSupport.park(this);
+                }
+
+                nextDeadlineNs += System.nanoTime() - pausedAtNs;
+
+                continue;
+            }
+
+            long remainingNs = nextDeadlineNs - System.nanoTime();
+
+            if (remainingNs <= 0)
+            {
+                return true;
+            }
+
+            if (remainingNs > SPIN_THRESHOLD_NS)
+            {
+                LockSupport.parkNanos(this, remainingNs - SPIN_THRESHOLD_NS);
+            }
+            else
+            {
+                Thread.yield();
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Advances the deadline to the tick after the one that was just run. If the worker fell behind, missed ticks are either run back
+     * to back (CatchUp, up to MAX_CATCH_UP_TICKS) or dropped (Skip).
+     */
+    private void scheduleNextDeadline()
+    {
+        final long TICK_PERIOD_NS = tickPeriodNs;
+
+        if (TICK_PERIOD_NS <= 0) // Uncapped, the next tick is due right away and there is never anything to catch up on
+        {
+            nextDeadlineNs = System.nanoTime();
+
+            return;
+        }
+
+        nextDeadlineNs += TICK_PERIOD_NS;
+        long behindNs = System.nanoTime() - nextDeadlineNs;
+
+        if (behindNs > 0)
+        {
+            long missedTicks = behindNs / TICK_PERIOD_NS;
+            long ticksToDrop = missedTickPolicy == MissedTickPolicy.CatchUp ? Math.max(0, missedTicks - MAX_CATCH_UP_TICKS) : missedTicks;
+
+            nextDeadlineNs += ticksToDrop * TICK_PERIOD_NS;
+            droppedTickCount += ticksToDrop;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+// File Name:     GameRandom.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.game;
+
+public class GameRandom
+{
+    public static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long state;
+
+    /**
+     * Creates a random number generator that produces the exact same numbers as a SplittableRandom created with the same seed.
+     * Unlike SplittableRandom, its whole state is a single long that can be read and written, so a game can be snapshotted and
+     * restored without losing its place in the sequence of random numbers.
+     *
+     * @param seed The seed of the random number generator.
+     */
+    public GameRandom(long seed)
+    {
+        this.state = seed;
+    }
+
+    public long getState()
+    {
+        return state;
+    }
+
+    public void setState(long state)
+    {
+        this.state = state;
+    }
+
+    /**
+     * Gets a random number between 0 (inclusive) and a bound (exclusive), the same way SplittableRandom.nextInt(int) does.
+     *
+     * @param bound The upper bound (exclusive) of the random number. Must be positive.
+     * @return A random number between 0 and bound - 1.
+     */
+    public int nextInt(int bound)
+    {
+        int r = mix32(state += GOLDEN_GAMMA);
+        int m = bound - 1;
+
+        if ((bound & m) == 0) // Bound is a power of two
+        {
+            return r & m;
+        }
+
+        for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = mix32(state += GOLDEN_GAMMA) >>> 1)
+        {
+            // Reject the numbers that would make the result biased
+        }
+
+        return r;
+    }
+
+    /**
+     * Gets 64 random bits, the same way SplittableRandom.nextLong() does.
+     *
+     * @return A random long.
+     */
+    public long nextLong()
+    {
+        long z = state += GOLDEN_GAMMA;
+
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Turns a state of the generator into 32 random bits (the mixing function of SplittableRandom.nextInt()).
+     *
+     * @param z The state to mix.
+     * @return 32 random bits.
+     */
+    public static int mix32(long z)
+    {
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+
+        return (int)(((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+}
@@ -0,0 +1,286 @@
+// File Name:     GameRenderer.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.game;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+public class GameRenderer
+{
+    public static final Color BG_COLOUR = new Color(30, 30, 30);
+    public static final Color FOOD_COLOUR = new Color(255, 44, 88);
+    public static final Color TEXT_COLOUR = new Color(255, 255, 255);
+    private final Font TEXT_FONT = new Font("Arial", Font.PLAIN, 24);
+    private final int CELL_SIZE;
+    private final int HEIGHT, WIDTH;
+    private final Rectangle BOUNDS;
+
+    private BufferedImage mapImage;
+    private Graphics2D mapGraphics; // Created along with the map image and reused for every frame, so drawing a frame allocates nothing
+    private long mapImageSequence = -1;
+
+    /**
+     * Creates a renderer which draws game frames. The map is kept in an image that only has the changed cells of each frame drawn
+     * on it, so rendering a frame does not depend on the length of the snake. A renderer is not thread safe and should only be used
+     * by one thread at a time.
+     *
+     * @param cellSize The size of a single map cell (length and width), in pixels.
+     * @param height The height of the area that is rendered to, in pixels.
+     * @param width The width of the area that is rendered to, in pixels.
+     */
+    public GameRenderer(int cellSize, int height, int width)
+    {
+        this.CELL_SIZE = cellSize;
+        this.HEIGHT = height;
+        this.WIDTH = width;
+        this.BOUNDS = new Rectangle(0, 0, width, height);
+    }
+
+    /**
+     * Renders a frame along with the text that is shown over the map for the state of the game.
+     *
+     * @param g The Graphics object used to draw.
+     * @param frame The frame to render.
+     * @param state The state of the game.
+     * @return True if the whole map had to be redrawn for this frame, if not, false.
+     */
+    public boolean render(Graphics g, GameFrame frame, GameState state)
+    {
+        return render(g, frame, state, 1);
+    }
+
+    /**
+     * Renders a frame with the snake drawn part of the way between the previous step and the step that the frame shows. Only the
+     * head and the tail of the snake move during a step, so they are the only cells that are drawn on top of the map image, which
+     * keeps the cost of a frame the same no matter how long the snake is.
+     *
+     * @param g The Graphics object used to draw.
+     * @param frame The frame to render.
+     * @param state The state of the game.
+     * @param progress How far the snake is between the previous step (0) and the step of the frame (1).
+     * @return True if the whole map had to be redrawn for this frame, if not, false.
+     */
+    public boolean render(Graphics g, GameFrame frame, GameState state, double progress)
+    {
+        boolean fullRedraw = updateMapImage(frame);
+
+        g.drawImage(mapImage, 0, 0, null);
+
+        if (progress < 1 && frame.isStepped() && !frame.isGameOver() && frame.getBodyLength() > 1)
+        {
+            drawInterpolatedSnake(g, frame, progress);
+        }
+
+        Graphics2D g2d = (Graphics2D)g;
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        g2d.setColor(TEXT_COLOUR);
+
+        if (frame.isGameWon())
+        {
+            drawCenteredString(g2d, "You win!", BOUNDS, TEXT_FONT);
+        }
+        else if (state == GameState.Over)
+        {
+            drawCenteredString(g2d, "Game over! Press the Spacebar to start a new game!", BOUNDS, TEXT_FONT);
+        }
+        else if (state == GameState.Idle)
+        {
+            drawCenteredString(g2d, "Press the Spacebar to start the game!", BOUNDS, TEXT_FONT);
+        }
+        else if (state == GameState.Paused)
+        {
+            drawCenteredString(g2d, "Game paused. Press P to unpause.", BOUNDS, TEXT_FONT);
+        }
+
+        return fullRedraw;
+    }
+
+    /**
+     * Draw a String centered in the middle of a Rectangle object. The code for this method was borrowed from
+     * https://stackoverflow.com/a/27740330/11760346/.
+     *
+     * @param g The Graphics object used to draw.
+     * @param text The String to draw.
+     * @param rect The Rectangle to center the text in.
+     */
+    public void drawCenteredString(Graphics g, String text, Rectangle rect, Font font)
+    {
+        FontMetrics metrics = g.getFontMetrics(font);
+
+        int x = rect.x + (rect.width - metrics.stringWidth(text)) / 2;
+        int y = rect.y + ((rect.height - metrics.getHeight()) / 2) + metrics.getAscent();
+
+        g.setFont(font);
+        g.drawString(text, x, y);
+    }
+
+    /**
+     * Brings the map image up to date with a frame. Frames carry every cell that changed since the last frame that was picked up,
+     * so only those cells are drawn unless the frame asks for the whole map to be redrawn.
+     *
+     * @param frame The frame to draw on the map image.
+     * @return True if the whole map was redrawn, if not, false.
+     */
+    private boolean updateMapImage(GameFrame frame)
+    {
+        if (frame.getPublishSequence() == mapImageSequence)
+        {
+            return false;
+        }
+
+        boolean fullRedraw = mapImage == null || frame.isFullRedraw();
+
+        if (mapImage == null)
+        {
+            mapImage = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+            mapGraphics = mapImage.createGraphics();
+        }
+
+        if (fullRedraw)
+        {
+            mapGraphics.setColor(BG_COLOUR);
+            mapGraphics.fillRect(0, 0, WIDTH, HEIGHT);
+
+            mapGraphics.setColor(FOOD_COLOUR);
+            fillCell(mapGraphics, frame.getFoodCell(), frame.getMapWidth());
+
+            mapGraphics.setColor(Snake.SNAKE_COLOUR);
+            for (int i = 0; i < frame.getBodyLength(); i++)
+            {
+                fillCell(mapGraphics, frame.getBodyCell(i), frame.getMapWidth());
+            }
+        }
+        else
+        {
+            for (int i = 0; i < frame.getDirtyCellCount(); i++)
+            {
+                mapGraphics.setColor(getCellColour(frame.getDirtyCellContent(i)));
+                fillCell(mapGraphics, frame.getDirtyCell(i), frame.getMapWidth());
+            }
+        }
+
+        mapImageSequence = frame.getPublishSequence();
+
+        return fullRedraw;
+    }
+
+    /**
+     * Draws the head of the snake sliding into its cell from the previous head cell and the tail sliding out of the cell it left.
+     * Nothing is drawn in between two cells that are not next to each other (ex: the snake went through a wall).
+     *
+     * @param g The Graphics object used to draw.
+     * @param frame The frame that is being rendered.
+     * @param progress How far the snake is between the previous step (0) and the step of the frame (1).
+     */
+    private void drawInterpolatedSnake(Graphics g, GameFrame frame, double progress)
+    {
+        final int MAP_WIDTH = frame.getMapWidth();
+        final int HEAD_CELL = frame.getBodyCell(0), PREVIOUS_HEAD_CELL = frame.getBodyCell(1);
+        final int TAIL_CELL = frame.getBodyCell(frame.getBodyLength() - 1), VACATED_TAIL_CELL = frame.getVacatedTailCell();
+
+        if (areCellsAdjacent(HEAD_CELL, PREVIOUS_HEAD_CELL, MAP_WIDTH))
+        {
+            g.setColor(BG_COLOUR);
+            fillCell(g, HEAD_CELL, MAP_WIDTH);
+
+            g.setColor(Snake.SNAKE_COLOUR);
+            fillPartialCell(g, HEAD_CELL, PREVIOUS_HEAD_CELL, progress, MAP_WIDTH);
+        }
+
+        if (VACATED_TAIL_CELL >= 0 && areCellsAdjacent(VACATED_TAIL_CELL, TAIL_CELL, MAP_WIDTH))
+        {
+            g.setColor(Snake.SNAKE_COLOUR);
+            fillPartialCell(g, VACATED_TAIL_CELL, TAIL_CELL, 1 - progress, MAP_WIDTH);
+        }
+    }
+
+    /**
+     * States whether two cells share a side on the map.
+     *
+     * @param cell The first packed cell (y * mapWidth + x).
+     * @param otherCell The second packed cell.
+     * @param mapWidth The width of the map, in cells.
+     * @return True if the cells are next to each other, if not, false.
+     */
+    private boolean areCellsAdjacent(int cell, int otherCell, int mapWidth)
+    {
+        final int DX = Math.abs(cell % mapWidth - otherCell % mapWidth), DY = Math.abs(cell / mapWidth - otherCell / mapWidth);
+
+        return DX + DY == 1;
+    }
+
+    /**
+     * Fills part of a map cell with the current colour of a Graphics object. The filled part is on the side of the cell that faces
+     * a neighbouring cell and spans the whole cell in the other axis.
+     *
+     * @param g The Graphics object used to draw.
+     * @param cell The packed cell to fill (y * mapWidth + x).
+     * @param neighbourCell A packed cell next to the cell, which the filled part is against.
+     * @param fraction How much of the cell to fill, between 0 and 1.
+     * @param mapWidth The width of the map, in cells.
+     */
+    private void fillPartialCell(Graphics g, int cell, int neighbourCell, double fraction, int mapWidth)
+    {
+        final int X = (cell % mapWidth) * CELL_SIZE, Y = (cell / mapWidth) * CELL_SIZE;
+        final int SIZE = (int)Math.round(fraction * CELL_SIZE);
+
+        if (neighbourCell == cell - 1) // Neighbour on the left
+        {
+            g.fillRect(X, Y, SIZE, CELL_SIZE);
+        }
+        else if (neighbourCell == cell + 1) // Neighbour on the right
+        {
+            g.fillRect(X + CELL_SIZE - SIZE, Y, SIZE, CELL_SIZE);
+        }
+        else if (neighbourCell < cell) // Neighbour above
+        {
+            g.fillRect(X, Y, CELL_SIZE, SIZE);
+        }
+        else // Neighbour below
+        {
+            g.fillRect(X, Y + CELL_SIZE - SIZE, CELL_SIZE, SIZE);
+        }
+    }
+
+    /**
+     * Gets the colour that a cell is drawn with.
+     *
+     * @param content What the cell contains.
+     * @return The colour of the cell.
+     */
+    private Color getCellColour(CellContent content)
+    {
+        if (content == CellContent.Food)
+        {
+            return FOOD_COLOUR;
+        }
+
+        if (content == CellContent.Snake)
+        {
+            return Snake.SNAKE_COLOUR;
+        }
+
+        return BG_COLOUR;
+    }
+
+    /**
+     * Fills a single map cell with the current colour of a Graphics object.
+     *
+     * @param g The Graphics object used to draw.
+     * @param cell The packed cell to fill (y * mapWidth + x).
+     * @param mapWidth The width of the map, in cells.
+     */
+    private void fillCell(Graphics g, int cell, int mapWidth)
+    {
+        g.fillRect((cell % mapWidth) * CELL_SIZE, (cell / mapWidth) * CELL_SIZE, CELL_SIZE, CELL_SIZE);
+    }
+}
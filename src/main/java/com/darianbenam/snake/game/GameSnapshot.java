@@ -0,0 +1,40 @@
+// File Name:     GameSnapshot.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.game;
+
+public class GameSnapshot
+{
+    // Snake
+    int[] bodyCells;
+    int tailLastCell;
+
+    // Free cell index, the order of the free cells decides where the next food is placed so it has to be restored exactly
+    int[] freeCells;
+    int freeCount;
+
+    // Game
+    CollisionType lastCollisionType;
+    Direction snakeDirection;
+    boolean gameOver, gameWon;
+    int foodCell, score;
+    long randomState, seed, tickCount;
+
+    /**
+     * Creates an empty snapshot. Snapshots are filled in by SnakeGame.createSnapshot.
+     */
+    GameSnapshot()
+    {
+    }
+
+    public int getScore()
+    {
+        return score;
+    }
+
+    public long getTickCount()
+    {
+        return tickCount;
+    }
+}
@@ -0,0 +1,38 @@
+// File Name:     GameSpeed.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.game;
+
+public enum GameSpeed
+{
+    Normal("Normal", 1),
+    Fast("Fast (4x)", 4),
+    VeryFast("Very Fast (16x)", 16),
+
+    /**
+     * Ticks are run back to back as fast as the CPU allows (ex: for bots or soak runs). Frames are still only drawn as often as the
+     * display can show them.
+     */
+    Uncapped("Uncapped", 0);
+
+    public final String DISPLAY_NAME;
+    private final int MULTIPLIER;
+
+    GameSpeed(String displayName, int multiplier)
+    {
+        this.DISPLAY_NAME = displayName;
+        this.MULTIPLIER = multiplier;
+    }
+
+    /**
+     * Gets the amount of time between two ticks at this speed.
+     *
+     * @param normalTickPeriodNs The amount of time between two ticks at normal speed, in nanoseconds.
+     * @return The tick period at this speed, in nanoseconds, or zero if the ticks are uncapped.
+     */
+    public long getTickPeriodNs(long normalTickPeriodNs)
+    {
+        return MULTIPLIER == 0 ? 0 : normalTickPeriodNs / MULTIPLIER;
+    }
+}
@@ -0,0 +1,13 @@
+// File Name:     GameState.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.game;
+
+public enum GameState
+{
+    Idle,
+    Running,
+    Paused,
+    Over
+}
@@ -0,0 +1,18 @@
+// File Name:     MissedTickPolicy.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.game;
+
+public enum MissedTickPolicy
+{
+    /**
+     * Missed ticks are run back to back (up to a limit) until the game loop is back on schedule, so no simulated time is lost.
+     */
+    CatchUp,
+
+    /**
+     * Missed ticks are dropped and only the most recent one is run, so the game never speeds up to make up for lost time.
+     */
+    Skip
+}
@@ -0,0 +1,24 @@
+// File Name:     RenderMode.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.game;
+
+public enum RenderMode
+{
+    /**
+     * Frames are drawn by Swing on the EDT whenever the repaint manager gets to the repaint requests of the game loop.
+     */
+    Passive,
+
+    /**
+     * Frames are drawn by the game loop thread itself onto a Canvas through a BufferStrategy right after every tick.
+     */
+    Active,
+
+    /**
+     * Frames are drawn onto a Canvas by a render thread at the refresh rate of the display, whatever the tick rate is, with the head
+     * and tail of the snake drawn part of the way between the last two ticks so that it moves smoothly.
+     */
+    Interpolated
+}
@@ -5,76 +5,224 @@
 package com.darianbenam.snake.game;
 
 import java.awt.Color;
-import java.awt.Point;
-import java.util.ArrayList;
+import java.util.Arrays;
 
 public class Snake
 {
     public static final Color SNAKE_COLOUR = new Color(50, 205, 50);
+    public static final int OUT_OF_BOUNDS = -1;
     public final boolean WALL_COLLISION;
-    private final int LEFT_BOUND, TOP_BOUND, BOTTOM_BOUND, RIGHT_BOUND;
+    private final int INITIAL_BODY_CAPACITY = 16;
 
-    private ArrayList<Point> bodyPartsList;
-    private int snakeBodySize, mapHeight, mapWidth;
-    private Point tailLastLocation;
+    // The body parts are stored in a circular buffer where the head is located at headIndex and the rest of the body follows it
+    // (wrapping around the end of the array). This means moving the snake only writes the new head and releases the tail instead
+    // of shifting every body part. The capacity is always a power of two and always larger than the length of the snake so the
+    // slot after the tail still holds the tail that was released by the last move. Every body part is a packed cell index
+    // (y * mapWidth + x), so the body is a single primitive array and moving the snake never allocates.
+    private int[] bodyCells;
+    private int headIndex, length;
+
+    // One bit per map cell (cell index = y * mapWidth + x) that is set when a body part occupies that cell. This is kept up to
+    // date on every move so that checking whether a cell is occupied never has to look through the body parts.
+    private final long[] occupiedCells;
+
+    // The cells that are not occupied by the snake, kept up to date alongside occupiedCells so a food can be placed in constant time
+    private final FreeCellIndex freeCells;
+    private final int mapHeight, mapWidth;
+    private int tailLastCell;
 
     /**
      * Constructor which creates a new instance of the Snake class. The snake will have a head when created and no
      * other body parts.
      *
-     * @param startLoc The location where the snake head should start at.
+     * @param startCell The cell where the snake head should start at (y * mapWidth + x).
      * @param wallCollision States whether there is wall collision on the map that this snake belongs to or not.
-     * @param snakeBodySize The size of a single snake body part (length and width), in pixels.
-     * @param mapHeight The height of the map that this snake belongs to.
-     * @param mapWidth The width of the map that this snake belongs to.
+     * @param mapHeight The height of the map that this snake belongs to, in cells.
+     * @param mapWidth The width of the map that this snake belongs to, in cells.
      */
-    public Snake(Point startLoc, boolean wallCollision, int snakeBodySize, int mapHeight, int mapWidth)
+    public Snake(int startCell, boolean wallCollision, int mapHeight, int mapWidth)
     {
-        bodyPartsList = new ArrayList<Point>();
-        bodyPartsList.add(startLoc);
-
         this.WALL_COLLISION = wallCollision;
-        this.snakeBodySize = snakeBodySize;
         this.mapHeight = mapHeight;
         this.mapWidth = mapWidth;
 
-        this.LEFT_BOUND = 0;
-        this.TOP_BOUND = 0;
-        this.BOTTOM_BOUND = mapHeight / snakeBodySize;
-        this.RIGHT_BOUND = mapWidth / snakeBodySize;
+        occupiedCells = new long[(mapHeight * mapWidth + 63) >>> 6];
+        freeCells = new FreeCellIndex(mapHeight * mapWidth);
+        bodyCells = new int[INITIAL_BODY_CAPACITY];
+
+        reset(startCell);
     }
 
-    public final ArrayList<Point> getBodyPartsList()
+    /**
+     * Gets a body part of the snake. Body parts are ordered from the head to the tail.
+     *
+     * @param index The index of the body part, where 0 is the head and getLength() - 1 is the tail.
+     * @return The cell of the body part (y * mapWidth + x).
+     */
+    public int getBodyCell(int index)
     {
-        return bodyPartsList;
+        return bodyCells[(headIndex + index) & (bodyCells.length - 1)];
     }
 
-    public Point getTailLastLocation()
+    /**
+     * Gets a cell that is not occupied by the snake by its position in the free cell index.
+     *
+     * @param position A number between 0 and getFreeCellCount() - 1.
+     * @return The index of the free cell (y * mapWidth + x).
+     * @see FreeCellIndex#getFreeCell(int)
+     */
+    public int getFreeCell(int position)
     {
-        return tailLastLocation;
+        return freeCells.getFreeCell(position);
+    }
+
+    public int getFreeCellCount()
+    {
+        return freeCells.getFreeCount();
+    }
+
+    public int getHeadCell()
+    {
+        return bodyCells[headIndex];
+    }
+
+    public int getLength()
+    {
+        return length;
+    }
+
+    public int getMapHeight()
+    {
+        return mapHeight;
+    }
+
+    public int getMapWidth()
+    {
+        return mapWidth;
+    }
+
+    public int getTailLastCell()
+    {
+        return tailLastCell;
     }
 
     /**
-     * Adds a body part to the snake at a specific location.
+     * Copies the body parts of the snake, ordered from the head to the tail, into an array.
      *
-     * @param loc The x,y location to where the body part will be added.
+     * @param dest The array to copy the body cells into. It must be able to hold at least getLength() cells.
      */
-    public void addBodyPart(Point loc)
+    public void copyBodyCells(int[] dest)
     {
-        bodyPartsList.add(loc);
+        final int FIRST_RUN_LENGTH = Math.min(length, bodyCells.length - headIndex);
+
+        System.arraycopy(bodyCells, headIndex, dest, 0, FIRST_RUN_LENGTH);
+        System.arraycopy(bodyCells, 0, dest, FIRST_RUN_LENGTH, length - FIRST_RUN_LENGTH);
+    }
+
+    /**
+     * Resets the snake so that it only has a head. The arrays of the snake are reused, so resetting it does not allocate.
+     *
+     * @param startCell The cell where the snake head should start at (y * mapWidth + x).
+     */
+    public void reset(int startCell)
+    {
+        Arrays.fill(occupiedCells, 0);
+        freeCells.reset();
+
+        headIndex = 0;
+        length = 1;
+        bodyCells[0] = startCell;
+        tailLastCell = startCell;
+        setOccupied(startCell, true);
+    }
+
+    /**
+     * Saves the body of the snake and its free cell index into a snapshot.
+     *
+     * @param snapshot The snapshot to save the state into.
+     */
+    void saveState(GameSnapshot snapshot)
+    {
+        snapshot.bodyCells = new int[length];
+        copyBodyCells(snapshot.bodyCells);
+        snapshot.tailLastCell = tailLastCell;
+
+        snapshot.freeCells = new int[mapHeight * mapWidth];
+        freeCells.copyCells(snapshot.freeCells);
+        snapshot.freeCount = freeCells.getFreeCount();
+    }
+
+    /**
+     * Restores the body of the snake and its free cell index from a snapshot. The occupied cells are rebuilt from the body.
+     *
+     * @param snapshot The snapshot to restore the state from.
+     */
+    void restoreState(GameSnapshot snapshot)
+    {
+        length = snapshot.bodyCells.length;
+        headIndex = 0;
+
+        if (bodyCells.length <= length)
+        {
+            bodyCells = new int[Integer.highestOneBit(length) << 1];
+        }
+
+        System.arraycopy(snapshot.bodyCells, 0, bodyCells, 0, length);
+        tailLastCell = snapshot.tailLastCell;
+
+        Arrays.fill(occupiedCells, 0);
+        for (int i = 0; i < length; i++)
+        {
+            occupiedCells[bodyCells[i] >>> 6] |= 1L << bodyCells[i];
+        }
+
+        freeCells.restore(snapshot.freeCells, snapshot.freeCount);
+    }
+
+    /**
+     * Adds a body part to the snake at a specific cell.
+     *
+     * @param cell The cell to where the body part will be added (y * mapWidth + x).
+     */
+    public void addBodyPart(int cell)
+    {
+        bodyCells[(headIndex + length) & (bodyCells.length - 1)] = cell;
+        length++;
+        setOccupied(cell, true);
+
+        ensureSpareCapacity();
     }
 
     /**
      * Adds a body part to the snake at a specific direction around the tail.
      *
      * @param dir The direction where the body part should be added from the snake tail.
+     * @throws IllegalStateException If the body part would be placed past a wall.
      */
     public void addBodyPart(Direction dir)
     {
-        Point tailLocation = getDirectionOffset(bodyPartsList.get(bodyPartsList.size() - 1), dir);
-        bodyPartsList.add(tailLocation);
+        int tailCell = getNextCell(getBodyCell(length - 1), dir);
+
+        if (tailCell == OUT_OF_BOUNDS)
+        {
+            throw new IllegalStateException("The body part would be placed outside of the map.");
+        }
+
+        addBodyPart(tailCell);
+
+        tailLastCell = tailCell;
+    }
+
+    /**
+     * Grows the snake by one unit by taking back the tail that was released during the last move. This is meant to be called after
+     * the snake eats a food and does not shift or copy any body parts.
+     */
+    public void grow()
+    {
+        length++;
+        setOccupied(getBodyCell(length - 1), true);
 
-        tailLastLocation = tailLocation;
+        ensureSpareCapacity();
     }
 
     /**
@@ -84,33 +232,27 @@ public class Snake
      */
     public CollisionType move(Direction dir)
     {
-        tailLastLocation = bodyPartsList.get(bodyPartsList.size() - 1);
-        
-        Point previousLocation = bodyPartsList.get(0);
-        Point newHeadLoc = getDirectionOffset(previousLocation, dir);
+        tailLastCell = getBodyCell(length - 1);
 
-        if (willCollideWithBody(newHeadLoc))
-        {
-            return CollisionType.Body;
-        }
+        int newHeadCell = getNextCell(bodyCells[headIndex], dir);
 
-        if (WALL_COLLISION && willGoOutOfBounds(newHeadLoc))
+        if (newHeadCell == OUT_OF_BOUNDS)
         {
             return CollisionType.Wall;
         }
 
-        // Move the head
-        bodyPartsList.set(0, newHeadLoc);
-
-        // Move all the body parts
-        for (int i = 1; i < bodyPartsList.size(); i++)
+        if (willCollideWithBody(newHeadCell))
         {
-            Point tempPreviousLocation = bodyPartsList.get(i);
+            return CollisionType.Body;
+        }
 
-            bodyPartsList.set(i, previousLocation);
+        // Write the new head in front of the old one, the tail is released by the length of the snake staying the same. The tail
+        // has to be released first since the head is allowed to move into the cell that the tail is leaving.
+        setOccupied(tailLastCell, false);
 
-            previousLocation = tempPreviousLocation;
-        }
+        headIndex = (headIndex - 1) & (bodyCells.length - 1);
+        bodyCells[headIndex] = newHeadCell;
+        setOccupied(newHeadCell, true);
 
         return CollisionType.None;
     }
@@ -118,98 +260,122 @@ public class Snake
     /**
      * Determines whether the snake head will collide with one of its body parts (excluding its tail).
      *
-     * @param headLoc The location of the snake head.
+     * @param headCell The cell of the snake head (y * mapWidth + x).
      * @return True if the snake head collided with one of its body parts, if not, false.
      */
-    public boolean willCollideWithBody(Point headLoc)
+    public boolean willCollideWithBody(int headCell)
+    {
+        return isBodyPartAt(headCell) && headCell != getBodyCell(length - 1) && headCell != bodyCells[headIndex];
+    }
+
+    /**
+     * Determines whether one of the snake body parts (including its head and tail) is located at a specific cell.
+     *
+     * @param x The column of the cell.
+     * @param y The row of the cell.
+     * @return True if a body part is located at the cell, if not, false. Cells outside of the map are never occupied.
+     */
+    public boolean isBodyPartAt(int x, int y)
     {
-        for (int i = 1; i < bodyPartsList.size() - 1; i++)
+        if (x < 0 || y < 0 || x >= mapWidth || y >= mapHeight)
         {
-            if (headLoc.equals(bodyPartsList.get(i)))
-            {
-                return true;
-            }
+            return false;
         }
 
-        return false;
+        return isBodyPartAt(y * mapWidth + x);
     }
 
     /**
-     * Checks if a snake head will go out of bounds. Out of bounds is when the snake head goes past a wall.
+     * Determines whether one of the snake body parts (including its head and tail) is located at a specific cell.
      *
-     * @param headLoc The location of the snake head.
-     * @return True if the snake head will go out of bounds, if not, false.
+     * @param cell The cell to check (y * mapWidth + x).
+     * @return True if a body part is located at the cell, if not, false.
      */
-    public boolean willGoOutOfBounds(Point headLoc)
+    public boolean isBodyPartAt(int cell)
     {
-        return headLoc.y < 0 || headLoc.x < 0  || headLoc.y >= mapHeight / snakeBodySize || headLoc.x >= mapWidth / snakeBodySize;
+        return (occupiedCells[cell >>> 6] & (1L << cell)) != 0;
     }
 
     /**
-     * Gets the offset point based off of a direction. For example, if the initial point is [x: 0, y: 0] and the direction was
-     * left then that offset point would be [x: -1, y: 0].
-     * 
-     * @param initialPoint The point to get the offset of.
-     * @param dir The direction to move the initialPoint to.
-     * @return The point that the direction lead to.
+     * Gets the cell next to another cell in a specific direction. If there is no wall collision, going past a wall leads to the
+     * cell on the opposite side of the map. For example, if the initial cell is [x: 0, y: 0] and the direction was left then the
+     * next cell would be [x: mapWidth - 1, y: 0].
+     *
+     * @param cell The cell to start from (y * mapWidth + x).
+     * @param dir The direction to go in.
+     * @return The cell that the direction lead to, or OUT_OF_BOUNDS if it went past a wall and there is wall collision.
      */
-    private Point getDirectionOffset(Point initialPoint, Direction dir)
+    public int getNextCell(int cell, Direction dir)
     {
-        Point offsetPoint = (Point)initialPoint.clone();
+        int x = cell % mapWidth;
+        int y = cell / mapWidth;
 
-        if (dir == Direction.Down)
+        switch (dir)
         {
-            offsetPoint.y++;
+            case Down:
+                y++;
+                break;
+            case Left:
+                x--;
+                break;
+            case Right:
+                x++;
+                break;
+            case Up:
+                y--;
+                break;
         }
 
-        if (dir == Direction.Left)
+        if (x < 0 || y < 0 || x >= mapWidth || y >= mapHeight)
         {
-            offsetPoint.x--;
+            if (WALL_COLLISION)
+            {
+                return OUT_OF_BOUNDS;
+            }
+
+            // Teleport to the opposite wall
+            x = (x + mapWidth) % mapWidth;
+            y = (y + mapHeight) % mapHeight;
         }
 
-        if (dir == Direction.Right)
+        return y * mapWidth + x;
+    }
+
+    /**
+     * Sets or clears the occupied bit of a cell and updates the free cell index.
+     *
+     * @param cell The cell to update (y * mapWidth + x).
+     * @param occupied True if the cell should be marked as occupied, false if it should be marked as empty.
+     */
+    private void setOccupied(int cell, boolean occupied)
+    {
+        if (occupied)
         {
-            offsetPoint.x++;
+            occupiedCells[cell >>> 6] |= 1L << cell;
+            freeCells.markOccupied(cell);
         }
-
-        if (dir == Direction.Up)
+        else
         {
-            offsetPoint.y--;
+            occupiedCells[cell >>> 6] &= ~(1L << cell);
+            freeCells.markFree(cell);
         }
-
-        handleWallTeleportation(offsetPoint);
-
-        return offsetPoint;
     }
 
     /**
-     * Moves the snake head to the opposite wall if it goes past a wall. This method will only work if wall collision is turned off.
-     *
-     * @param headLoc The location of the snake head.
+     * Doubles the capacity of the body part buffer if the snake has filled it up. The body parts are copied over in order, so after
+     * growing the head is located at the start of the new buffer.
      */
-    private void handleWallTeleportation(Point headLoc)
+    private void ensureSpareCapacity()
     {
-        if (!WALL_COLLISION)
+        if (length < bodyCells.length)
         {
-            if (headLoc.y < TOP_BOUND)
-            {
-                headLoc.y = BOTTOM_BOUND - 1;
-            }
-
-            if (headLoc.x < LEFT_BOUND)
-            {
-                headLoc.x = RIGHT_BOUND - 1;
-            }
+            return;
+        }
 
-            if (headLoc.y >= BOTTOM_BOUND)
-            {
-                headLoc.y = TOP_BOUND;
-            }
+        int[] grownBodyCells = new int[bodyCells.length * 2];
+        copyBodyCells(grownBodyCells);
 
-            if (headLoc.x >= RIGHT_BOUND)
-            {
-                headLoc.x = LEFT_BOUND;
-            }
-        }
+        bodyCells = grownBodyCells;
+        headIndex = 0;
     }
 }
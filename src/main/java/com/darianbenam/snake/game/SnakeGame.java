@@ -0,0 +1,394 @@
+// File Name:     SnakeGame.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.game;
+
+import com.darianbenam.snake.jfr.FlightRecorderEvents;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class SnakeGame
+{
+    public static final Direction INITIAL_SNAKE_DIR = Direction.Right;
+    public static final int FOOD_POINTS_WORTH = 15;
+    public static final int SNAKE_START_X = 3, SNAKE_START_Y = 1;
+
+    public final boolean WALL_COLLISION;
+    public final int MAP_HEIGHT, MAP_WIDTH;
+    public final int MAX_DIRTY_CELLS_PER_STEP = 4;
+
+    private final CellContent[] dirtyCellContents = new CellContent[MAX_DIRTY_CELLS_PER_STEP];
+    private final int[] dirtyCells = new int[MAX_DIRTY_CELLS_PER_STEP];
+    private int dirtyCellCount = 0;
+
+    private final GameRandom random = new GameRandom(0);
+    private long seed;
+
+    private CollisionType lastCollisionType = CollisionType.None;
+    private Direction snakeDirection = INITIAL_SNAKE_DIR;
+    private final Snake snake;
+    private int foodCell;
+    private boolean gameOver = false, gameWon = false;
+    private int score = 0;
+    private long tickCount = 0;
+    private long lastFoodPlacementNs = 0;
+    private boolean phaseTimingEnabled = false;
+    private long lastMovePhaseNs = 0, lastCollisionPhaseNs = 0;
+
+    /**
+     * Constructor which creates a new snake game that is ready to be stepped. This class contains all the rules of the game and
+     * does not depend on Swing, so it can be simulated without a window (ex: for bots or on a headless machine).
+     *
+     * @param mapHeight The height of the map, in cells.
+     * @param mapWidth The width of the map, in cells.
+     * @param wallCollision States whether the snake dies when it hits a wall (true) or teleports to the opposite wall (false).
+     */
+    public SnakeGame(int mapHeight, int mapWidth, boolean wallCollision)
+    {
+        this(mapHeight, mapWidth, wallCollision, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Constructor which creates a new snake game that is ready to be stepped. Every random decision of the game (ex: where the food
+     * is placed) comes from a random number generator that belongs to this game, so two games with the same seed that are given
+     * the same directions play out exactly the same way.
+     *
+     * @param mapHeight The height of the map, in cells.
+     * @param mapWidth The width of the map, in cells.
+     * @param wallCollision States whether the snake dies when it hits a wall (true) or teleports to the opposite wall (false).
+     * @param seed The seed of the random number generator of the game.
+     */
+    public SnakeGame(int mapHeight, int mapWidth, boolean wallCollision, long seed)
+    {
+        this.MAP_HEIGHT = mapHeight;
+        this.MAP_WIDTH = mapWidth;
+        this.WALL_COLLISION = wallCollision;
+
+        snake = new Snake(SNAKE_START_Y * mapWidth + SNAKE_START_X, wallCollision, mapHeight, mapWidth);
+        reset(seed);
+    }
+
+    /**
+     * Gets a cell that changed during the last step. Applying the dirty cells in order to a picture of the map from before the step
+     * gives a picture of the map after the step, since a cell can appear more than once.
+     *
+     * @param index A number between 0 and getDirtyCellCount() - 1.
+     * @return The packed cell that changed (y * MAP_WIDTH + x).
+     */
+    public int getDirtyCell(int index)
+    {
+        return dirtyCells[index];
+    }
+
+    /**
+     * Gets what a cell that changed during the last step contains after the change.
+     *
+     * @param index A number between 0 and getDirtyCellCount() - 1.
+     * @return The new content of the dirty cell.
+     */
+    public CellContent getDirtyCellContent(int index)
+    {
+        return dirtyCellContents[index];
+    }
+
+    public int getDirtyCellCount()
+    {
+        return dirtyCellCount;
+    }
+
+    /**
+     * Gets the cell where the food is located.
+     *
+     * @return The packed cell of the food (y * MAP_WIDTH + x).
+     */
+    public int getFoodCell()
+    {
+        return foodCell;
+    }
+
+    public CollisionType getLastCollisionType()
+    {
+        return lastCollisionType;
+    }
+
+    public int getScore()
+    {
+        return score;
+    }
+
+    /**
+     * Gets the seed that the current game was started with. Replaying the same directions on a game that was reset with this seed
+     * gives the exact same game.
+     *
+     * @return The seed of the current game.
+     */
+    public long getSeed()
+    {
+        return seed;
+    }
+
+    public Snake getSnake()
+    {
+        return snake;
+    }
+
+    public Direction getSnakeDirection()
+    {
+        return snakeDirection;
+    }
+
+    public long getTickCount()
+    {
+        return tickCount;
+    }
+
+    /**
+     * Turns the timing of the phases of a step on or off. It is off by default since it reads the clock a few more times per step.
+     *
+     * @param enabled Whether getLastMovePhaseNs and getLastCollisionPhaseNs should be measured.
+     */
+    public void setPhaseTimingEnabled(boolean enabled)
+    {
+        phaseTimingEnabled = enabled;
+    }
+
+    /**
+     * Gets how long the last step took to move the snake, which includes testing whether it hit a wall or its body.
+     *
+     * @return The duration of the move phase, in nanoseconds, or zero if phase timing is off.
+     */
+    public long getLastMovePhaseNs()
+    {
+        return lastMovePhaseNs;
+    }
+
+    /**
+     * Gets how long the last step took to handle the outcome of the move (marking the cells that changed and checking whether the
+     * food was eaten), not counting the time it took to place a new food.
+     *
+     * @return The duration of the collision phase, in nanoseconds, or zero if phase timing is off.
+     */
+    public long getLastCollisionPhaseNs()
+    {
+        return lastCollisionPhaseNs;
+    }
+
+    /**
+     * Gets how long it took to place the last food that was placed by a step (the food placed when the game is reset is not timed).
+     *
+     * @return The time it took to place the food, in nanoseconds.
+     */
+    public long getLastFoodPlacementNs()
+    {
+        return lastFoodPlacementNs;
+    }
+
+    /**
+     * States whether the game has ended. A game ends when the snake collides with something or when the player wins.
+     *
+     * @return True if the game is over, if not, false.
+     */
+    public boolean isGameOver()
+    {
+        return gameOver;
+    }
+
+    public boolean isGameWon()
+    {
+        return gameWon;
+    }
+
+    /**
+     * Resets the game to its initial state by creating a snake with a length of three, generating a food at a random location
+     * and resetting the score. The snake is reused instead of being recreated. The seed of the new game is drawn
+     * from the random number generator of the previous game.
+     */
+    public void reset()
+    {
+        reset(random.nextLong());
+    }
+
+    /**
+     * Resets the game to its initial state and starts it with a specific seed.
+     *
+     * @param seed The seed of the random number generator of the new game.
+     */
+    public void reset(long seed)
+    {
+        this.seed = seed;
+        random.setState(seed);
+        dirtyCellCount = 0;
+
+        snake.reset(SNAKE_START_Y * MAP_WIDTH + SNAKE_START_X);
+        snake.addBodyPart(Direction.Left);
+        snake.addBodyPart(Direction.Left);
+
+        lastCollisionType = CollisionType.None;
+        snakeDirection = INITIAL_SNAKE_DIR;
+        gameOver = false;
+        gameWon = false;
+        score = 0;
+        tickCount = 0;
+
+        generateFood();
+    }
+
+    /**
+     * Saves the whole state of the game, including the state of its random number generator, so that the game can be brought back
+     * to this exact point later on.
+     *
+     * @return A snapshot of the game.
+     */
+    public GameSnapshot createSnapshot()
+    {
+        GameSnapshot snapshot = new GameSnapshot();
+
+        snake.saveState(snapshot);
+
+        snapshot.lastCollisionType = lastCollisionType;
+        snapshot.snakeDirection = snakeDirection;
+        snapshot.gameOver = gameOver;
+        snapshot.gameWon = gameWon;
+        snapshot.foodCell = foodCell;
+        snapshot.score = score;
+        snapshot.randomState = random.getState();
+        snapshot.seed = seed;
+        snapshot.tickCount = tickCount;
+
+        return snapshot;
+    }
+
+    /**
+     * Brings the game back to the state that a snapshot was taken of. The game keeps playing out the same way from there as it
+     * did after the snapshot was taken. The dirty cells are cleared, so the whole map has to be redrawn after a restore.
+     *
+     * @param snapshot A snapshot of a game with the same map size.
+     */
+    public void restoreSnapshot(GameSnapshot snapshot)
+    {
+        snake.restoreState(snapshot);
+
+        dirtyCellCount = 0;
+        lastCollisionType = snapshot.lastCollisionType;
+        snakeDirection = snapshot.snakeDirection;
+        gameOver = snapshot.gameOver;
+        gameWon = snapshot.gameWon;
+        foodCell = snapshot.foodCell;
+        score = snapshot.score;
+        random.setState(snapshot.randomState);
+        seed = snapshot.seed;
+        tickCount = snapshot.tickCount;
+    }
+
+    /**
+     * Advances the game by one tick. The snake is moved one cell in the specified direction and then food collision is handled.
+     * If the direction is the opposite of where the snake is currently heading, it is ignored and the snake keeps travelling in
+     * its current direction.
+     *
+     * @param dir The direction the snake should move in during this tick.
+     * @return The outcome of the tick.
+     * @throws IllegalStateException If the game is already over.
+     */
+    public StepResult step(Direction dir)
+    {
+        if (gameOver)
+        {
+            throw new IllegalStateException("The game is already over.");
+        }
+
+        if (dir != snakeDirection.getOpposite())
+        {
+            snakeDirection = dir;
+        }
+
+        tickCount++;
+        dirtyCellCount = 0;
+
+        final long MOVE_START_NS = phaseTimingEnabled ? System.nanoTime() : 0;
+        lastCollisionType = snake.move(snakeDirection);
+        final long MOVE_END_NS = phaseTimingEnabled ? System.nanoTime() : 0;
+
+        lastMovePhaseNs = MOVE_END_NS - MOVE_START_NS;
+        lastCollisionPhaseNs = 0;
+
+        if (lastCollisionType != CollisionType.None) // Either collided with a wall (if there are walls) or one of its body parts
+        {
+            gameOver = true;
+
+            return StepResult.GameOver;
+        }
+
+        // The tail has to be marked before the head since the head is allowed to move into the cell that the tail left
+        markDirty(snake.getTailLastCell(), CellContent.Empty);
+        markDirty(snake.getHeadCell(), CellContent.Snake);
+
+        StepResult result = handleFoodCollision();
+
+        if (phaseTimingEnabled)
+        {
+            lastCollisionPhaseNs = System.nanoTime() - MOVE_END_NS - (result == StepResult.Moved ? 0 : lastFoodPlacementNs);
+        }
+
+        return result;
+    }
+
+    /**
+     * Handles when the snake head collidies with the food on the map. When the snake head collidies with the food, the score is added
+     * some points and the snake grows by one unit.
+     *
+     * @return FoodEaten if the food was eaten, GameWon if eating the food filled up the map, or Moved if no food was eaten.
+     */
+    private StepResult handleFoodCollision()
+    {
+        if (snake.getHeadCell() == foodCell)
+        {
+            score += FOOD_POINTS_WORTH;
+
+            snake.grow();
+            markDirty(snake.getTailLastCell(), CellContent.Snake);
+
+            final Object FOOD_PLACEMENT_EVENT = FlightRecorderEvents.beginFoodPlacement();
+            final long FOOD_PLACEMENT_START_NS = System.nanoTime();
+            generateFood();
+            lastFoodPlacementNs = System.nanoTime() - FOOD_PLACEMENT_START_NS;
+            FlightRecorderEvents.commitFoodPlacement(FOOD_PLACEMENT_EVENT, snake.getFreeCellCount());
+
+            return gameWon ? StepResult.GameWon : StepResult.FoodEaten;
+        }
+
+        return StepResult.Moved;
+    }
+
+    /**
+     * Generates a food on the map at a random location where the snake body is not present. If there is no location left, the game
+     * is won.
+     */
+    private void generateFood()
+    {
+        final int FREE_CELL_COUNT = snake.getFreeCellCount();
+
+        if (FREE_CELL_COUNT == 0) // Snake has filled up the entire map
+        {
+            gameOver = true;
+            gameWon = true;
+        }
+        else // Snake has not filled up the entire map
+        {
+            foodCell = snake.getFreeCell(random.nextInt(FREE_CELL_COUNT));
+            markDirty(foodCell, CellContent.Food);
+        }
+    }
+
+    /**
+     * Records that a cell changed during the current step.
+     *
+     * @param cell The packed cell that changed (y * MAP_WIDTH + x).
+     * @param content What the cell contains after the change.
+     */
+    private void markDirty(int cell, CellContent content)
+    {
+        dirtyCells[dirtyCellCount] = cell;
+        dirtyCellContents[dirtyCellCount] = content;
+        dirtyCellCount++;
+    }
+}
@@ -4,54 +4,145 @@
 
 package com.darianbenam.snake.game;
 
-import java.awt.Color;
+import com.darianbenam.snake.jfr.FlightRecorderEvents;
+import com.darianbenam.snake.metrics.GameMetrics;
+import com.darianbenam.snake.replay.Replay;
+import com.darianbenam.snake.replay.ReplayPlayer;
+import com.darianbenam.snake.replay.ReplayRecorder;
+import com.darianbenam.snake.simulation.SnakeStrategy;
+import java.awt.BorderLayout;
 import java.awt.Dimension;
-import java.awt.Font;
-import java.awt.FontMetrics;
 import java.awt.Graphics;
-import java.awt.Graphics2D;
-import java.awt.Point;
 import java.awt.Rectangle;
-import java.awt.RenderingHints;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import javax.management.JMException;
 import javax.swing.JPanel;
 
 public class SnakeGameContainer extends JPanel
 {
-    private final Color BG_COLOUR = new Color(30, 30, 30);
-    private final Color FOOD_COLOUR = new Color(255, 44, 88);
-    private final Color TEXT_COLOUR = new Color(255, 255, 255);
-    private final Direction INITIAL_SNAKE_DIR = Direction.Right;
-    private final Font TEXT_FONT = new Font("Arial", Font.PLAIN, 24);
     private final boolean WALL_COLLISION = true;
-    private final int FOOD_POINTS_WORTH = 15;
-    private final int GAME_LOOP_SLEEP_MS = 75;
+    private final long TICK_PERIOD_MS = 75;
     private final int SNAKE_DIMENSIONS = 10;
-    private final int SNAKE_START_X = 3, SNAKE_START_Y = 1;
-    private final int CONTAINER_HEIGHT = SNAKE_DIMENSIONS * 50, CONTAINER_WIDTH = SNAKE_DIMENSIONS * 75;
+    private final int MAP_HEIGHT = 50, MAP_WIDTH = 75;
+    private final int CONTAINER_HEIGHT = SNAKE_DIMENSIONS * MAP_HEIGHT, CONTAINER_WIDTH = SNAKE_DIMENSIONS * MAP_WIDTH;
+    public final String REPLAY_DIRECTORY_PATH = "replays";
+
+    private final ContainerEventDispatcher eventDispatcher = new ContainerEventDispatcher();
+    private final Consumer<Throwable> failureHandler;
+    private final FrameExchange frameExchange = new FrameExchange();
+    private final GameLoopScheduler gameLoopScheduler = new GameLoopScheduler("Snake Game Loop", TimeUnit.MILLISECONDS.toNanos(TICK_PERIOD_MS), MissedTickPolicy.Skip);
+    private volatile GameSpeed gameSpeed = GameSpeed.Normal;
+    private final SnakeGame game;
+    private final int TURN_BUFFER_CAPACITY = 4;
+    private final TurnBuffer turnBuffer = new TurnBuffer(TURN_BUFFER_CAPACITY, SnakeGame.INITIAL_SNAKE_DIR); // Filled by the EDT, emptied by the game loop
+    private volatile Direction snakeDirection = SnakeGame.INITIAL_SNAKE_DIR;
+    private volatile long lastInputLatencyNs = 0;
+    private volatile SnakeStrategy autopilot; // Not null while the snake is steered by the autopilot instead of the keyboard
+    private boolean gameAssisted = false; // Set by the game loop thread once a tick of the game was played by the autopilot or uncapped
+    private volatile GameState gameState = GameState.Idle;
+    private final ReplayRecorder replayRecorder = new ReplayRecorder(); // Only used by the game loop thread while the game is running
+    private volatile ReplayPlayer replayPlayer; // Not null while a replay is shown instead of the game
+    private final ExecutorService replayWriter = Executors.newSingleThreadExecutor(runnable ->
+    {
+        Thread thread = new Thread(runnable, "Replay Writer");
+        thread.setDaemon(true);
+
+        return thread;
+    });
+
+    // The renderer is used by the EDT in passive mode and by the game loop thread in active mode (and by the EDT when the game is not
+    // ticking), so the lock makes sure only one of them picks up and draws frames at a time.
+    private final GameRenderer renderer = new GameRenderer(SNAKE_DIMENSIONS, CONTAINER_HEIGHT, CONTAINER_WIDTH);
+    private final ReentrantLock renderLock = new ReentrantLock();
+    private volatile RenderMode renderMode = RenderMode.Passive;
+    private volatile ActiveRenderCanvas activeRenderCanvas;
+    private final long DISPLAY_REFRESH_INTERVAL_NS = FrameDecimator.getDisplayRefreshIntervalNs();
+    private final FrameDecimator frameDecimator = new FrameDecimator(DISPLAY_REFRESH_INTERVAL_NS);
+    private final GameLoopScheduler renderLoopScheduler = new GameLoopScheduler("Snake Renderer", DISPLAY_REFRESH_INTERVAL_NS, MissedTickPolicy.Skip); // Only runs in interpolated mode
+    private boolean ticksSkippedSinceFrame = false; // Only used while a tick is in progress or between two ticks
 
-    private ArrayList<SnakeGameContainerListener> eventListenersList = new ArrayList<SnakeGameContainerListener>();
-    private Direction nextSnakeDirection = INITIAL_SNAKE_DIR, snakeDirection = nextSnakeDirection;
-    private Point foodLocation;
-    private Snake snake;
-    private boolean gamePaused = false, gameStarted = false, gameOver = false, gameWon = false, killLoopThread = false;
-    private int score = 0;
+    private final GameMetrics metrics = new GameMetrics();
 
     /**
-     * Constructor which creates the snake game container panel.
+     * Constructor which creates the snake game container panel. Failures are passed to the uncaught exception handler of the thread
+     * they happen on.
      */
     public SnakeGameContainer()
+    {
+        this(null);
+    }
+
+    /**
+     * Constructor which creates the snake game container panel.
+     *
+     * @param failureHandler Called with every failure that happens off the calling thread's stack (ex: a tick that threw on the game
+     *                       loop thread or a replay that could not be written by the replay writer thread), on the thread where it
+     *                       happened. If null, failures are passed to the uncaught exception handler of that thread.
+     */
+    public SnakeGameContainer(Consumer<Throwable> failureHandler)
     {
         super(true); // Enable double buffering
 
-        this.setBackground(BG_COLOUR);
+        this.failureHandler = failureHandler;
+        this.setBackground(GameRenderer.BG_COLOUR);
+        this.setLayout(new BorderLayout());
+
+        game = new SnakeGame(MAP_HEIGHT, MAP_WIDTH, WALL_COLLISION);
+        frameExchange.publishFullRedraw(game);
+
+        gameLoopScheduler.setFailureHandler(this::reportFailure);
+        renderLoopScheduler.setFailureHandler(this::reportFailure);
+
+        try
+        {
+            metrics.register();
+        }
+        catch (JMException ex)
+        {
+            reportFailure(new IllegalStateException("The game metrics could not be registered over JMX.", ex));
+        }
+    }
+
+    /**
+     * Gets the metrics of the game loop and of the rendering of this container, which are also registered over JMX.
+     *
+     * @return The metrics of this container.
+     */
+    public GameMetrics getMetrics()
+    {
+        return metrics;
+    }
 
-        setupSnakeAndFood();
+    /**
+     * Gets the headless game instance that holds the rules and state of the game shown by this container.
+     *
+     * @return The SnakeGame that this container is a view of.
+     */
+    public SnakeGame getGame()
+    {
+        return game;
     }
 
+    /**
+     * Gets the score that is currently shown, which is the score of the replay while a replay is being watched.
+     *
+     * @return The score of the game or of the replay.
+     */
     public int getScore()
     {
-        return score;
+        ReplayPlayer player = replayPlayer;
+
+        return player != null ? player.getGame().getScore() : game.getScore();
     }
 
     /**
@@ -67,76 +158,266 @@ public class SnakeGameContainer extends JPanel
 
     public boolean isGameOver()
     {
-        return gameOver;
+        return game.isGameOver();
     }
 
     public boolean isGamePaused()
     {
-        return gamePaused;
+        return gameState == GameState.Paused;
     }
 
     public boolean isGameStarted()
     {
-        return gameStarted;
+        return gameState == GameState.Running || gameState == GameState.Paused;
+    }
+
+    /**
+     * Gets the amount of time between two ticks of a game that is being played.
+     *
+     * @return The tick period of the game, in nanoseconds.
+     */
+    public long getGameTickPeriodNs()
+    {
+        return TimeUnit.MILLISECONDS.toNanos(TICK_PERIOD_MS);
+    }
+
+    public GameSpeed getGameSpeed()
+    {
+        return gameSpeed;
+    }
+
+    /**
+     * Changes how fast the game is played. The new speed is used starting from the next tick, even if the game is running. A replay
+     * that is being watched keeps the speed it was started with, and the game goes back to this speed once the replay is stopped.
+     *
+     * @param speed The speed to play the game at.
+     */
+    public void setGameSpeed(GameSpeed speed)
+    {
+        gameSpeed = speed;
+
+        if (!isReplaying())
+        {
+            gameLoopScheduler.setTickPeriodNs(speed.getTickPeriodNs(getGameTickPeriodNs()));
+        }
+    }
+
+    /**
+     * Gets how many ticks have to be run between two frames that are drawn.
+     *
+     * @return The render tick interval, where 1 means that every tick can be drawn.
+     */
+    public int getRenderTickInterval()
+    {
+        return frameDecimator.getTickInterval();
+    }
+
+    /**
+     * Only draws a frame once every few ticks (ex: to watch a bot play at uncapped speed while spending as little time as possible
+     * drawing). Frames are never drawn more often than the display refreshes, whatever the interval is. The last tick of a game is
+     * always drawn.
+     *
+     * @param tickInterval The amount of ticks between two frames, where 1 draws every tick that the display can keep up with.
+     */
+    public void setRenderTickInterval(int tickInterval)
+    {
+        frameDecimator.setTickInterval(tickInterval);
+    }
+
+    /**
+     * Gets the tick of the replay that is being watched.
+     *
+     * @return The tick that is currently shown, or -1 if no replay is being watched.
+     */
+    public long getReplayTick()
+    {
+        ReplayPlayer player = replayPlayer;
+
+        return player != null ? player.getTick() : -1;
+    }
+
+    public boolean isReplaying()
+    {
+        return replayPlayer != null;
+    }
+
+    public GameState getGameState()
+    {
+        return gameState;
+    }
+
+    public RenderMode getRenderMode()
+    {
+        return renderMode;
+    }
+
+    /**
+     * Switches between drawing the game through Swing's repaint manager (passive), drawing it directly from the game loop thread
+     * onto a canvas (active) and drawing it onto a canvas from a render thread at the refresh rate of the display (interpolated).
+     * This method should only be called on the EDT.
+     *
+     * @param mode The render mode to switch to.
+     */
+    public void setRenderMode(RenderMode mode)
+    {
+        if (mode == renderMode)
+        {
+            return;
+        }
+
+        if (mode != RenderMode.Passive && activeRenderCanvas == null)
+        {
+            activeRenderCanvas = new ActiveRenderCanvas(this::renderActiveFrame);
+            this.add(activeRenderCanvas, BorderLayout.CENTER);
+        }
+        else if (mode == RenderMode.Passive)
+        {
+            this.remove(activeRenderCanvas);
+            activeRenderCanvas = null;
+        }
+
+        renderMode = mode;
+
+        if (mode == RenderMode.Interpolated)
+        {
+            renderLoopScheduler.start(this::renderInterpolatedFrame);
+        }
+        else
+        {
+            renderLoopScheduler.stop();
+        }
+
+        this.revalidate();
+        this.repaint();
     }
 
+    /**
+     * Pauses or unpauses the game. While the game is paused, the game loop thread is parked instead of ticking. This method does
+     * nothing if the game is not in a state that can be paused or unpaused.
+     *
+     * @param pause True if the game should be paused, false if it should be unpaused.
+     */
     public void setPauseState(boolean pause)
     {
-        gamePaused = pause;
+        final boolean[] STATE_CHANGED = { false };
+
+        // The state is checked and changed between two ticks, since the tick that ends the game sets it to over on the game loop
+        // thread. Otherwise an ended game could be paused, and then resumed on a scheduler that has no task left to run.
+        gameLoopScheduler.runBetweenTicks(() ->
+        {
+            if (pause && gameState == GameState.Running && gameLoopScheduler.isRunning())
+            {
+                gameState = GameState.Paused;
+                gameLoopScheduler.pause();
+                publishSkippedTicks(); // The last ticks before the pause might not have been drawn
+                STATE_CHANGED[0] = true;
+            }
+            else if (!pause && gameState == GameState.Paused && gameLoopScheduler.isRunning())
+            {
+                gameState = GameState.Running;
+                gameLoopScheduler.resume();
+                STATE_CHANGED[0] = true;
+            }
+        });
+
+        if (STATE_CHANGED[0])
+        {
+            repaintGame();
+        }
     }
 
     /**
-     * Changes the snake travel direction. This method wont change the snakes travel direction if the direction is the opposite 
-     * direction of where the snake is heading or if the game is paused.
+     * Queues a change of the snake travel direction, which is applied on the next tick that has no earlier change left to apply. This
+     * method wont queue the direction if it is the opposite of (or the same as) the last queued direction, or if the game is paused.
+     * It may only be called from one thread (the event dispatch thread, or the game loop thread while the autopilot is engaged).
      *
      * @param dir The direction the snake should travel.
      */
     public void setSnakeDirection(Direction dir)
     {
-        if (getOppositeDirection(dir).equals(snakeDirection) || gamePaused)
+        if (gameState == GameState.Paused)
         {
             return;
         }
 
-        nextSnakeDirection = dir;
+        turnBuffer.offer(dir, System.nanoTime());
+    }
+
+    public boolean isAutopilotEngaged()
+    {
+        return autopilot != null;
     }
 
     /**
-     * Adds an event listener to the list of event listeners for this snake game container.
+     * Hands the steering of the snake over to a strategy, or back to the keyboard. While the autopilot is engaged, it chooses a
+     * direction at the start of every tick of a game that is being played and passes it to setSnakeDirection from the game loop
+     * thread, so the keyboard must not call setSnakeDirection until it is disengaged. Turns that were queued by the keyboard are
+     * dropped when it is engaged. This method should only be called on the EDT.
+     *
+     * @param strategy The strategy that steers the snake, or null to steer it with the keyboard again.
+     */
+    public void setAutopilot(SnakeStrategy strategy)
+    {
+        // Swapped between two ticks, so the game loop and the EDT never both queue turns at the same time
+        gameLoopScheduler.runBetweenTicks(() ->
+        {
+            if (strategy != null && autopilot == null)
+            {
+                turnBuffer.clear(snakeDirection);
+            }
+
+            autopilot = strategy;
+        });
+    }
+
+    /**
+     * Gets the time between the key press of the last direction change and the tick that applied it.
+     *
+     * @return The latency of the last direction change, in nanoseconds, or zero if there was none yet.
+     */
+    public long getLastInputLatencyNs()
+    {
+        return lastInputLatencyNs;
+    }
+
+    /**
+     * Adds an event listener to the list of event listeners for this snake game container. Listeners are always notified on the
+     * event dispatch thread, after the event happened.
      *
      * @param scoreListener The listener instance to be added to the list.
      */
     public void addEventListener(SnakeGameContainerListener scoreListener)
     {
-        eventListenersList.add(scoreListener);
+        eventDispatcher.addListener(scoreListener);
     }
 
     /**
-     * Starts the game by resetting variables and running the game loop on a new thread. This method notifies
+     * Starts the game by resetting variables and scheduling the game loop on the game loop thread. This method notifies
      * all event listeners that the game started.
      */
     public void startGame()
     {
-        if (gameOver)
+        gameLoopScheduler.stop(); // Waits for the tick that ended the last game to finish before it is reset
+        stopReplay();
+
+        if (game.isGameOver())
         {
-            setupSnakeAndFood();
+            game.reset();
+            frameExchange.publishFullRedraw(game);
         }
 
-        resetScore();
+        notifyScoreUpdated();
         resetVariables();
+        replayRecorder.start(game);
 
-        gameStarted = true;
+        gameState = GameState.Running;
 
-        // Start the game loop on a new thread via lambda expression
-        new Thread(() ->
-        {
-            gameLoop();
-        }).start();
+        frameDecimator.reset(System.nanoTime());
+        gameLoopScheduler.start(this::gameTick);
 
-        for (SnakeGameContainerListener listener : eventListenersList)
-        {
-            listener.onGameStarted();
-        }
+        repaintGame(); // Removes the text that was drawn over the map
+
+        eventDispatcher.fireGameStarted();
     }
 
     /**
@@ -144,243 +425,412 @@ public class SnakeGameContainer extends JPanel
      */
     public void startNewGame()
     {
-        killLoopThread = true;
+        gameLoopScheduler.stop(); // Waits for a tick in progress so the game is not reset while it is being stepped
+        stopReplay();
 
-        setupSnakeAndFood();
-        resetScore();
+        game.reset();
+        frameExchange.publishFullRedraw(game);
+        notifyScoreUpdated();
         resetVariables();
 
-        this.repaint();
+        repaintGame();
     }
 
     /**
-     * Resets some global scope variables to their default values.
+     * Starts watching a recorded game instead of the current game. The replay is played on its own game and it is drawn the same
+     * way as a game that is being played. A game that is being played when the replay starts is thrown away, and starting a game
+     * stops the replay.
+     *
+     * @param replay The recorded game to watch.
+     * @param tickPeriodNs The amount of time between two ticks of the replay, in nanoseconds, or zero to play it as fast as possible.
      */
-    private void resetVariables()
+    public void playReplay(Replay replay, long tickPeriodNs)
     {
-        nextSnakeDirection = INITIAL_SNAKE_DIR;
-        snakeDirection = nextSnakeDirection;
-        gameOver = false;
-        gamePaused = false;
-        gameStarted = false;
-        gameWon = false;
-        killLoopThread = false;
-    }
+        gameLoopScheduler.stop();
 
-    /**
-     * Sets up the snake game by creating the snake, generating a food at a random location, and starting
-     * the main game loop.
-     */
-    private void setupSnakeAndFood()
-    {
-        // Create a new snake with a length of three
-        snake = new Snake(new Point(SNAKE_START_X, SNAKE_START_Y), WALL_COLLISION, SNAKE_DIMENSIONS, CONTAINER_HEIGHT, CONTAINER_WIDTH);
-        snake.addBodyPart(Direction.Left);
-        snake.addBodyPart(Direction.Left);
+        if (isGameStarted() && !isReplaying()) // A game that was interrupted by the replay can not be recorded properly anymore
+        {
+            game.reset();
+        }
 
-        generateFood();
+        replayPlayer = new ReplayPlayer(replay, ReplayPlayer.DEFAULT_KEYFRAME_INTERVAL);
+        gameLoopScheduler.setTickPeriodNs(tickPeriodNs);
+
+        seekReplay(0);
     }
 
     /**
-     * The game loop which will run forever until the game is over or if the player won the game.
+     * Jumps to a specific tick of the replay that is being watched. The replay keeps playing from that tick, unless it was seeked
+     * to its end. This method does nothing if no replay is being watched.
+     *
+     * @param tick The tick to jump to, where 0 is the start of the replay.
      */
-    private void gameLoop()
+    public void seekReplay(long tick)
     {
-        while (!killLoopThread && !gameOver && !gameWon)
+        ReplayPlayer player = replayPlayer;
+        if (player == null)
         {
-            if (!gamePaused)
-            {
-                try
-                {
-                    CollisionType collisionTypeAfterMoving = snake.move(snakeDirection);
-                    if (collisionTypeAfterMoving != CollisionType.None) // Either collided with a wall (if there are no walls) or one of its body parts
-                    {
-                        gameOver();
-
-                        break;
-                    }
-
-                    handleFoodCollision();
-
-                    snakeDirection = nextSnakeDirection;
-
-                    Thread.sleep(GAME_LOOP_SLEEP_MS);
-                }
-                catch (InterruptedException ex)
-                {
-                    System.out.println("Exception thrown in game loop: " + ex.toString());
-                }
-            }
+            return;
+        }
 
-            this.repaint();
+        gameLoopScheduler.stop(); // The replay can only be seeked while it is not being stepped
+
+        player.seek(tick);
+        frameExchange.publishFullRedraw(player.getGame());
+        notifyScoreUpdated();
+
+        if (player.isFinished())
+        {
+            gameState = GameState.Over;
+        }
+        else
+        {
+            gameState = GameState.Running;
+            frameDecimator.reset(System.nanoTime());
+            gameLoopScheduler.start(this::replayTick);
         }
+
+        repaintGame();
     }
 
     /**
-     * Handles when the snake head collidies with the food on the map. When the snake head collidies with the food, the score is added
-     * some points and the snake grows by one unit.
+     * Stops watching the replay (if one is being watched) and shows the current game again.
      */
-    private void handleFoodCollision()
+    private void stopReplay()
     {
-        if (snake.getBodyPartsList().get(0).equals(foodLocation))
+        if (replayPlayer == null)
         {
-            addPointsToScore();
+            return;
+        }
 
-            snake.addBodyPart(snake.getTailLastLocation());
+        replayPlayer = null;
+        gameLoopScheduler.setTickPeriodNs(gameSpeed.getTickPeriodNs(getGameTickPeriodNs()));
+        frameExchange.publishFullRedraw(game);
+        gameState = game.isGameOver() ? GameState.Over : GameState.Idle;
+    }
 
-            generateFood();
-        }
+    /**
+     * Resets some global scope variables to their default values.
+     */
+    private void resetVariables()
+    {
+        turnBuffer.clear(SnakeGame.INITIAL_SNAKE_DIR); // The game loop is stopped whenever the variables are reset
+        snakeDirection = SnakeGame.INITIAL_SNAKE_DIR;
+        gameAssisted = false;
+        gameState = GameState.Idle;
     }
 
     /**
-     * Generates a food on the map at a random location where the snake body is not present.
+     * Runs a single tick of the game loop. This is called by the game loop scheduler once every tick period of the game speed while
+     * the game is running (and not paused) until the game is over or if the player won the game.
      */
-    private void generateFood()
+    private void gameTick()
     {
-        ArrayList<Point> map = getEmptyMapPoints();
+        final long TICK_START_NS = System.nanoTime();
+        final Object TICK_EVENT = FlightRecorderEvents.beginTick();
+        final SnakeStrategy AUTOPILOT = autopilot;
 
-        if (map.size() == 0) // Snake has filled up the entire map
+        if (AUTOPILOT != null)
         {
-            winGame();
+            setSnakeDirection(AUTOPILOT.chooseDirection(game)); // The game loop thread queues the turns while the autopilot is engaged
         }
-        else // Snake has not filled up the entire map
+
+        if (AUTOPILOT != null || gameSpeed == GameSpeed.Uncapped) // Stays set for the rest of the game, even if it is turned off again
         {
-            int randIndex = (int)(Math.random() * map.size());
-            foodLocation = map.get(randIndex);
+            gameAssisted = true;
+        }
+
+        final Direction TURN = turnBuffer.poll(); // At most one turn per tick, the others are played on the next ticks
+
+        if (TURN != null)
+        {
+            snakeDirection = TURN;
+
+            if (AUTOPILOT == null) // The latency of a turn of the autopilot is not the latency of a key press
+            {
+                lastInputLatencyNs = TICK_START_NS - turnBuffer.getLastTimestampNs();
+                metrics.recordInputLatency(lastInputLatencyNs);
+            }
         }
+
+        replayRecorder.recordDirection(game.getTickCount() + 1, snakeDirection);
+
+        game.setPhaseTimingEnabled(TICK_EVENT != null);
+
+        StepResult stepResult = game.step(snakeDirection);
+
+        if (stepResult == StepResult.GameOver || stepResult == StepResult.GameWon)
+        {
+            saveReplay();
+        }
+
+        if (stepResult == StepResult.GameOver) // Either collided with a wall (if there are walls) or one of its body parts
+        {
+            gameLoopScheduler.stop();
+            gameOver();
+        }
+
+        if (stepResult == StepResult.FoodEaten || stepResult == StepResult.GameWon)
+        {
+            metrics.recordFoodPlacement(game.getLastFoodPlacementNs());
+            notifyScoreUpdated();
+        }
+
+        if (stepResult == StepResult.GameWon)
+        {
+            gameLoopScheduler.stop();
+            winGame();
+        }
+
+        presentTick(game);
+
+        metrics.recordTick(System.nanoTime() - TICK_START_NS, gameLoopScheduler.getLastTickJitterNs()); // Includes drawing the frame in active rendering
+
+        final long FOOD_PHASE_NS = stepResult == StepResult.FoodEaten || stepResult == StepResult.GameWon ? game.getLastFoodPlacementNs() : 0;
+        FlightRecorderEvents.commitTick(TICK_EVENT, game.getTickCount(), stepResult.name(), game.getLastMovePhaseNs(), game.getLastCollisionPhaseNs(), FOOD_PHASE_NS);
     }
 
     /**
-     * Gets all the map points where the snake is not present.
-     *
-     * @return An ArrayList of type Point which contains all the empty coordinate locations of the map.
+     * Runs a single tick of the replay that is being watched. Unlike gameTick, the end of a replay does not notify the listeners
+     * that the game is over, since nothing was actually played.
      */
-    private ArrayList<Point> getEmptyMapPoints()
+    private void replayTick()
     {
-        ArrayList<Point> result = new ArrayList<Point>();
+        ReplayPlayer player = replayPlayer;
+
+        StepResult stepResult = player.step();
 
-        Point mapPoint;
-        for (int row = 0; row < CONTAINER_HEIGHT / SNAKE_DIMENSIONS; row++) // Rows
+        if (stepResult == StepResult.FoodEaten || stepResult == StepResult.GameWon)
         {
-            for (int col = 0; col < CONTAINER_WIDTH/ SNAKE_DIMENSIONS; col++)
-            {
-                mapPoint = new Point(col, row);
+            notifyScoreUpdated();
+        }
 
-                if (!snake.getBodyPartsList().contains(mapPoint))
-                {
-                    result.add(mapPoint);
-                }
-            }
+        if (player.isFinished())
+        {
+            gameLoopScheduler.stop();
+            gameState = GameState.Over;
         }
 
-        return result;
+        presentTick(player.getGame());
     }
 
     /**
-     * Gets the opposite direction of a direction.
+     * Publishes and draws the tick that was just run, unless a frame was drawn too recently (ex: when the game ticks faster than the
+     * display refreshes), in which case the cells that changed are kept for the next frame instead. The last tick of a game and a
+     * tick that is run while the game is being paused are always drawn.
      *
-     * @param dir The direction that you want the opposite of.
-     * @return The direction that is opposite of the 'dir' parameter.
+     * @param steppedGame The game that was just stepped.
      */
-    private Direction getOppositeDirection(Direction dir)
+    private void presentTick(SnakeGame steppedGame)
     {
-        Direction oppDir;
-
-        if (dir == Direction.Down)
+        if (gameState == GameState.Running && !frameDecimator.isFrameDue(System.nanoTime()))
         {
-            oppDir = Direction.Up;
+            frameExchange.skip(steppedGame);
+            ticksSkippedSinceFrame = true;
+
+            return;
         }
-        else if (dir == Direction.Right)
+
+        frameExchange.publish(steppedGame);
+
+        if (gameState == GameState.Over || renderMode != RenderMode.Passive || ticksSkippedSinceFrame)
         {
-            oppDir = Direction.Left;
+            repaintGame(); // The game over text, the canvas or the cells of the skipped ticks are redrawn as a whole
         }
-        else if (dir == Direction.Left)
+        else
         {
-            oppDir = Direction.Right;
+            for (int i = 0; i < steppedGame.getDirtyCellCount(); i++)
+            {
+                repaintCell(steppedGame.getDirtyCell(i));
+            }
         }
-        else // dir equals Up
+
+        ticksSkippedSinceFrame = false;
+    }
+
+    /**
+     * Publishes a frame with the cells of the ticks that were not drawn, if there are any. This may only be called while no tick is
+     * in progress.
+     */
+    private void publishSkippedTicks()
+    {
+        if (!ticksSkippedSinceFrame)
         {
-            oppDir = Direction.Down;
+            return;
         }
 
-        return oppDir;
+        ReplayPlayer player = replayPlayer;
+
+        frameExchange.publish(player != null ? player.getGame() : game); // The cells of the last step were kept as well, drawing them twice is harmless
+        ticksSkippedSinceFrame = false;
     }
 
     /**
-     * Sets variables that tell the snake game container that the game was won which will overall stop the game loop.
-     * This also will notify all listeners that the game was won.
+     * Finishes the recording of the game that just ended and writes it to the replay directory. The recording is only held in
+     * memory while the game is running, so the file is only written once the game is over. The bytes are copied on the game loop
+     * thread but written by the replay writer thread, so the game loop never waits on the hard drive.
      */
-    private void winGame()
+    private void saveReplay()
     {
-        gameStarted = false;
-        gameOver = true;
-        gameWon = true;
+        replayRecorder.finish(game.getTickCount());
+
+        final byte[] REPLAY_DATA = replayRecorder.toByteArray();
+        final Path REPLAY_FILE_PATH = Paths.get(REPLAY_DIRECTORY_PATH, "replay-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + Replay.FILE_EXTENSION);
 
-        for (SnakeGameContainerListener listener : eventListenersList)
+        replayWriter.execute(() ->
         {
-            listener.onGameWon();
-        }
+            try
+            {
+                Files.createDirectories(REPLAY_FILE_PATH.getParent());
+                Files.write(REPLAY_FILE_PATH, REPLAY_DATA);
+            }
+            catch (IOException ex)
+            {
+                reportFailure(new IOException("The replay could not be saved to " + REPLAY_FILE_PATH + ".", ex));
+            }
+        });
+    }
+
+    /**
+     * Sets variables that tell the snake game container that the game was won. This also will notify all listeners that the
+     * game was won.
+     */
+    private void winGame()
+    {
+        gameState = GameState.Over;
+
+        eventDispatcher.fireGameWon(game.getScore(), gameAssisted);
     }
 
     /**
      * Sets variables that tell the snake game container that the game is over due to either the snake colliding with
-     * itself or with a wall. This method will overall stop the game loop and will also will notify all listeners that
-     * the game is over.
+     * itself or with a wall. This method will also will notify all listeners that the game is over.
      */
     private void gameOver()
     {
-        gameOver = true;
-        gameStarted = false;
+        gameState = GameState.Over;
+
+        eventDispatcher.fireGameOver(game.getScore(), gameAssisted); // Read on the game loop thread, before a new game can reset them
+    }
 
-        for (SnakeGameContainerListener listener : eventListenersList)
+    /**
+     * Passes a failure to the failure handler of this container, or to the uncaught exception handler of the current thread if it
+     * has none.
+     *
+     * @param failure The exception or error that was thrown.
+     */
+    private void reportFailure(Throwable failure)
+    {
+        if (failureHandler != null)
+        {
+            failureHandler.accept(failure);
+        }
+        else
         {
-            listener.onGameOver();
+            Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), failure);
         }
     }
 
     /**
-     * Adds FOOD_POINTS_WORTH to the score and notifies all listeners that the score was updated.
+     * Notifies all listeners that the score was updated.
      */
-    private void addPointsToScore()
+    private void notifyScoreUpdated()
     {
-        score += FOOD_POINTS_WORTH;
+        eventDispatcher.fireScoreUpdated();
+    }
 
-        for (SnakeGameContainerListener listener : eventListenersList)
+    /**
+     * Requests a repaint of the region of this panel that a single map cell covers.
+     *
+     * @param cell The packed cell to repaint (y * MAP_WIDTH + x).
+     */
+    private void repaintCell(int cell)
+    {
+        this.repaint((cell % MAP_WIDTH) * SNAKE_DIMENSIONS, (cell / MAP_WIDTH) * SNAKE_DIMENSIONS, SNAKE_DIMENSIONS, SNAKE_DIMENSIONS);
+    }
+
+    /**
+     * Requests the whole game to be drawn again. In passive mode this asks Swing to repaint the panel, in active mode the latest
+     * frame is drawn right away on the calling thread and in interpolated mode the render thread draws it on its next refresh.
+     */
+    private void repaintGame()
+    {
+        if (renderMode == RenderMode.Active)
         {
-            listener.onScoreUpdated();
+            renderActiveFrame();
         }
+        else if (renderMode == RenderMode.Passive)
+        {
+            this.repaint();
+        }
+    }
+
+    /**
+     * Draws the latest frame onto the active render canvas. This method does nothing if the canvas was removed.
+     */
+    private void renderActiveFrame()
+    {
+        renderCanvasFrame(false);
     }
 
     /**
-     * Resets the score to zero and notifies all listeners that the score was updated.
+     * Draws the latest frame onto the active render canvas with the snake part of the way between its last two steps. This is run by
+     * the render thread once every refresh of the display while the render mode is interpolated.
      */
-    private void resetScore()
+    private void renderInterpolatedFrame()
     {
-        score = 0;
+        renderCanvasFrame(true);
+    }
 
-        for (SnakeGameContainerListener listener : eventListenersList)
+    /**
+     * Gets how far the snake should be drawn between the previous step and the step of a frame, based on how much of the tick period
+     * went by since the frame was captured. The snake is drawn in the cells of the frame when the game is not running or when it
+     * ticks too fast for drawing in between two steps to be seen.
+     *
+     * @param frame The frame that is being drawn.
+     * @param nowNs The current value of System.nanoTime().
+     * @return A number between 0 (the previous step) and 1 (the step of the frame).
+     */
+    private double getStepProgress(GameFrame frame, long nowNs)
+    {
+        final long TICK_PERIOD_NS = gameLoopScheduler.getTickPeriodNs();
+
+        if (gameState != GameState.Running || TICK_PERIOD_NS <= DISPLAY_REFRESH_INTERVAL_NS)
         {
-            listener.onScoreUpdated();
+            return 1;
         }
+
+        return Math.min(1, Math.max(0, (double)(nowNs - frame.getCaptureTimeNs()) / TICK_PERIOD_NS));
     }
 
     /**
-     * Draw a String centered in the middle of a Rectangle object. The code for this method was borrowed from
-     * https://stackoverflow.com/a/27740330/11760346/.
+     * Draws the latest frame onto the active render canvas. This method does nothing if the canvas was removed.
      *
-     * @param g The Graphics object used to draw.
-     * @param text The String to draw.
-     * @param rect The Rectangle to center the text in.
+     * @param interpolate Whether the snake should be drawn in between its last two steps.
      */
-    public void drawCenteredString(Graphics g, String text, Rectangle rect, Font font)
+    private void renderCanvasFrame(boolean interpolate)
     {
-        FontMetrics metrics = g.getFontMetrics(font);
+        renderLock.lock();
 
-        int x = rect.x + (rect.width - metrics.stringWidth(text)) / 2;
-        int y = rect.y + ((rect.height - metrics.getHeight()) / 2) + metrics.getAscent();
+        try
+        {
+            ActiveRenderCanvas canvas = activeRenderCanvas;
+            if (canvas != null)
+            {
+                final Object PAINT_EVENT = FlightRecorderEvents.beginPaint();
+                final long PAINT_START_NS = System.nanoTime();
+                GameFrame frame = frameExchange.getLatestFrame();
 
-        g.setFont(font);
-        g.drawString(text, x, y);
+                canvas.renderFrame(renderer, frame, gameState, interpolate ? getStepProgress(frame, PAINT_START_NS) : 1);
+
+                metrics.recordFrame(System.nanoTime() - PAINT_START_NS);
+                FlightRecorderEvents.commitPaint(PAINT_EVENT, frame.getBodyLength(), frame.getDirtyCellCount(), frame.isFullRedraw());
+            }
+        }
+        finally
+        {
+            renderLock.unlock();
+        }
     }
 
     /**
@@ -394,39 +844,32 @@ public class SnakeGameContainer extends JPanel
     {
         super.paintComponent(g);
 
-        Graphics2D g2d = (Graphics2D)g;
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-        // Draw the food
-        g2d.setColor(FOOD_COLOUR);
-        g2d.fillRect(foodLocation.x * SNAKE_DIMENSIONS, foodLocation.y * SNAKE_DIMENSIONS, SNAKE_DIMENSIONS, SNAKE_DIMENSIONS);
-
-        // Draw the snake
-        g2d.setColor(Snake.SNAKE_COLOUR);
-        for (int i = 0; i < snake.getBodyPartsList().size(); i++)
+        if (renderMode != RenderMode.Passive) // The canvas covers the whole panel
         {
-            Point bodyPartLoc = snake.getBodyPartsList().get(i);
-
-            g2d.fillRect(bodyPartLoc.x * SNAKE_DIMENSIONS, bodyPartLoc.y * SNAKE_DIMENSIONS, SNAKE_DIMENSIONS, SNAKE_DIMENSIONS);
+            return;
         }
 
-        g2d.setColor(TEXT_COLOUR);
+        renderLock.lock();
 
-        if (gameWon)
+        try
         {
-            drawCenteredString(g2d, "You win!", this.getBounds(), TEXT_FONT);
-        }
-        else if (gameOver && !gameStarted)
-        {
-            drawCenteredString(g2d, "Game over! Press the Spacebar to start a new game!", this.getBounds(), TEXT_FONT);
-        }
-        else if (!gameStarted)
-        {
-            drawCenteredString(g2d, "Press the Spacebar to start the game!", this.getBounds(), TEXT_FONT);
+            // Everything is drawn from the latest published frame since the game is being stepped on the game loop thread
+            final Object PAINT_EVENT = FlightRecorderEvents.beginPaint();
+            final long PAINT_START_NS = System.nanoTime();
+            GameFrame frame = frameExchange.getLatestFrame();
+            Rectangle clipBounds = g.getClipBounds();
+
+            if (renderer.render(g, frame, gameState) && clipBounds != null && !clipBounds.contains(0, 0, CONTAINER_WIDTH, CONTAINER_HEIGHT))
+            {
+                this.repaint(); // The whole map changed but only part of it is being painted
+            }
+
+            metrics.recordFrame(System.nanoTime() - PAINT_START_NS);
+            FlightRecorderEvents.commitPaint(PAINT_EVENT, frame.getBodyLength(), frame.getDirtyCellCount(), frame.isFullRedraw());
         }
-        else if (gamePaused)
+        finally
         {
-            drawCenteredString(g2d, "Game paused. Press P to unpause.", this.getBounds(), TEXT_FONT);
+            renderLock.unlock();
         }
     }
 }
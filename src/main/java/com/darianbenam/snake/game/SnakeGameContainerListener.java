@@ -8,8 +8,11 @@ public interface SnakeGameContainerListener
 {
     /**
      * Occurs when the snake head touches one of its body parts or if it collides head on with a wall.
+     *
+     * @param finalScore The score of the game that ended, which can differ from the current score if a new game was started since.
+     * @param assisted True if any tick of the game was played by the autopilot or at uncapped speed, which a player could not do.
      */
-    void onGameOver();
+    void onGameOver(int finalScore, boolean assisted);
 
     /**
      * Occurs when the user starts the game.
@@ -18,8 +21,11 @@ public interface SnakeGameContainerListener
 
     /**
      * Occurs when the user starts wins the game.
+     *
+     * @param finalScore The score of the game that was won.
+     * @param assisted True if any tick of the game was played by the autopilot or at uncapped speed.
      */
-    void onGameWon();
+    void onGameWon(int finalScore, boolean assisted);
 
     /**
      * Occurs when the snake head collides with a food.
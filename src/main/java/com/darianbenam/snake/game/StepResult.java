@@ -0,0 +1,13 @@
+// File Name:     StepResult.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.game;
+
+public enum StepResult
+{
+    FoodEaten,
+    GameOver,
+    GameWon,
+    Moved
+}
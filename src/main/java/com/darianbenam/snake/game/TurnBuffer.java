@@ -0,0 +1,127 @@
+// File Name:     TurnBuffer.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.game;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TurnBuffer
+{
+    public final int CAPACITY;
+
+    // Single-producer/single-consumer ring: only the producer writes tail and only the consumer writes head. A slot is filled before
+    // tail is published and read before head is published, so neither side ever waits for the other. Both counters only grow, the
+    // slot of a counter is counter & mask.
+    private final Direction[] directions;
+    private final long[] timestampsNs;
+    private final int MASK;
+    private final AtomicLong head = new AtomicLong(0), tail = new AtomicLong(0);
+
+    private volatile Direction currentDirection; // The direction of the last turn the consumer took
+    private Direction lastQueuedDirection; // Only used by the producer
+    private long lastTimestampNs; // Only used by the consumer
+
+    /**
+     * Creates a buffer of turns between the thread that reads the keyboard and the game loop, so that several turns pressed within a
+     * single tick are played on the following ticks instead of only the last one.
+     *
+     * @param capacity The largest amount of turns that can be waiting at once. Must be a power of two.
+     * @param initialDirection The direction the snake is heading when the game starts.
+     */
+    public TurnBuffer(int capacity, Direction initialDirection)
+    {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1)
+        {
+            throw new IllegalArgumentException("The capacity must be a power of two.");
+        }
+
+        this.CAPACITY = capacity;
+        this.MASK = capacity - 1;
+
+        directions = new Direction[capacity];
+        timestampsNs = new long[capacity];
+
+        clear(initialDirection);
+    }
+
+    /**
+     * Empties the buffer. This may only be called while neither the producer nor the consumer is using the buffer.
+     *
+     * @param initialDirection The direction the snake is heading.
+     */
+    public void clear(Direction initialDirection)
+    {
+        head.set(tail.get());
+
+        currentDirection = initialDirection;
+        lastQueuedDirection = initialDirection;
+        lastTimestampNs = 0;
+    }
+
+    /**
+     * Queues a turn. The turn is checked against the last turn that is still queued (or the direction of the snake if there is none),
+     * so a turn that reverses it or that does not change it is dropped. May only be called by the producer thread.
+     *
+     * @param dir The direction to turn to.
+     * @param timestampNs The System.nanoTime() at which the turn was pressed.
+     * @return True if the turn was queued, false if it was dropped or the buffer is full.
+     */
+    public boolean offer(Direction dir, long timestampNs)
+    {
+        final long TAIL = tail.get();
+
+        // Once the consumer took every queued turn, the last one it took is the direction that the next turn has to be checked against
+        if (TAIL == head.get())
+        {
+            lastQueuedDirection = currentDirection;
+        }
+
+        if (dir == lastQueuedDirection || dir == lastQueuedDirection.getOpposite() || TAIL - head.get() == CAPACITY)
+        {
+            return false;
+        }
+
+        directions[(int)TAIL & MASK] = dir;
+        timestampsNs[(int)TAIL & MASK] = timestampNs;
+        lastQueuedDirection = dir;
+
+        tail.lazySet(TAIL + 1);
+
+        return true;
+    }
+
+    /**
+     * Takes the oldest queued turn. May only be called by the consumer thread.
+     *
+     * @return The direction of the turn, or null if there is no turn queued.
+     */
+    public Direction poll()
+    {
+        final long HEAD = head.get();
+
+        if (HEAD == tail.get())
+        {
+            return null;
+        }
+
+        final Direction DIR = directions[(int)HEAD & MASK];
+
+        lastTimestampNs = timestampsNs[(int)HEAD & MASK];
+        currentDirection = DIR; // Written before head is published so the producer sees it once the buffer looks empty
+
+        head.lazySet(HEAD + 1);
+
+        return DIR;
+    }
+
+    /**
+     * Gets the time at which the last turn taken by poll was pressed. May only be called by the consumer thread.
+     *
+     * @return The System.nanoTime() of the last turn, or 0 if no turn was taken since the buffer was cleared.
+     */
+    public long getLastTimestampNs()
+    {
+        return lastTimestampNs;
+    }
+}
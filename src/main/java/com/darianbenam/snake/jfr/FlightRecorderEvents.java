@@ -0,0 +1,180 @@
+// File Name:     FlightRecorderEvents.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.jfr;
+
+public final class FlightRecorderEvents
+{
+    // The game targets Java 8, where the jdk.jfr API only exists from 8u262 on. The event classes are only ever loaded through the
+    // methods of this class and only when the API exists, so on older JVMs every method is a no-op instead of a NoClassDefFoundError.
+    public static final boolean AVAILABLE = isFlightRecorderAvailable();
+
+    private FlightRecorderEvents()
+    {
+    }
+
+    /**
+     * States whether tick events are being recorded. All the events are disabled by default and have to be enabled in the settings
+     * of a recording (ex: with the snake.jfc file at the root of the project), so this is a single field read while nothing records
+     * them.
+     *
+     * @return True if tick events should be created, if not, false.
+     */
+    public static boolean isTickEnabled()
+    {
+        return AVAILABLE && TickEvent.TYPE.isEnabled();
+    }
+
+    /**
+     * Starts a tick event.
+     *
+     * @return The event to pass to commitTick, or null if tick events are not being recorded.
+     */
+    public static Object beginTick()
+    {
+        if (!isTickEnabled())
+        {
+            return null;
+        }
+
+        TickEvent event = new TickEvent();
+        event.begin();
+
+        return event;
+    }
+
+    /**
+     * Ends and commits a tick event. Does nothing if the event is null.
+     *
+     * @param event The event returned by beginTick.
+     * @param tick The number of the tick.
+     * @param result The outcome of the tick.
+     * @param moveNs How long moving the snake took.
+     * @param collisionNs How long handling the outcome of the move took.
+     * @param foodNs How long placing a new food took.
+     */
+    public static void commitTick(Object event, long tick, String result, long moveNs, long collisionNs, long foodNs)
+    {
+        if (event == null)
+        {
+            return;
+        }
+
+        TickEvent tickEvent = (TickEvent)event;
+        tickEvent.tick = tick;
+        tickEvent.result = result;
+        tickEvent.moveDuration = moveNs;
+        tickEvent.collisionDuration = collisionNs;
+        tickEvent.foodDuration = foodNs;
+        tickEvent.commit();
+    }
+
+    public static Object beginFoodPlacement()
+    {
+        if (!AVAILABLE || !FoodPlacementEvent.TYPE.isEnabled())
+        {
+            return null;
+        }
+
+        FoodPlacementEvent event = new FoodPlacementEvent();
+        event.begin();
+
+        return event;
+    }
+
+    public static void commitFoodPlacement(Object event, int freeCellCount)
+    {
+        if (event == null)
+        {
+            return;
+        }
+
+        FoodPlacementEvent foodPlacementEvent = (FoodPlacementEvent)event;
+        foodPlacementEvent.freeCellCount = freeCellCount;
+        foodPlacementEvent.commit();
+    }
+
+    public static Object beginPaint()
+    {
+        if (!AVAILABLE || !PaintEvent.TYPE.isEnabled())
+        {
+            return null;
+        }
+
+        PaintEvent event = new PaintEvent();
+        event.begin();
+
+        return event;
+    }
+
+    public static void commitPaint(Object event, int segmentCount, int dirtyCellCount, boolean fullRedraw)
+    {
+        if (event == null)
+        {
+            return;
+        }
+
+        PaintEvent paintEvent = (PaintEvent)event;
+        paintEvent.segmentCount = segmentCount;
+        paintEvent.dirtyCellCount = dirtyCellCount;
+        paintEvent.fullRedraw = fullRedraw;
+        paintEvent.commit();
+    }
+
+    /**
+     * Starts a high score file event. The event is committed whether the load or save succeeds or not.
+     *
+     * @return The event to pass to commitHighScoreIo, or null if high score file events are not being recorded.
+     */
+    public static Object beginHighScoreIo()
+    {
+        if (!AVAILABLE || !HighScoreIoEvent.TYPE.isEnabled())
+        {
+            return null;
+        }
+
+        HighScoreIoEvent event = new HighScoreIoEvent();
+        event.begin();
+
+        return event;
+    }
+
+    /**
+     * Ends and commits a high score file event. Does nothing if the event is null.
+     *
+     * @param event The event returned by beginHighScoreIo.
+     * @param operation Either "load" or "save".
+     * @param path The path of the high score file.
+     * @param bytes The amount of bytes that were read or written.
+     * @param succeeded Whether the operation succeeded.
+     */
+    public static void commitHighScoreIo(Object event, String operation, String path, long bytes, boolean succeeded)
+    {
+        if (event == null)
+        {
+            return;
+        }
+
+        HighScoreIoEvent highScoreIoEvent = (HighScoreIoEvent)event;
+        highScoreIoEvent.operation = operation;
+        highScoreIoEvent.path = path;
+        highScoreIoEvent.bytes = bytes;
+        highScoreIoEvent.succeeded = succeeded;
+        highScoreIoEvent.commit();
+    }
+
+    private static boolean isFlightRecorderAvailable()
+    {
+        try
+        {
+            Class.forName("jdk.jfr.Event", false, FlightRecorderEvents.class.getClassLoader());
+
+            return true;
+        }
+        catch (ClassNotFoundException | LinkageError ex)
+        {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+// File Name:     FoodPlacementEvent.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.darianbenam.snake.FoodPlacement")
+@Label("Food Placement")
+@Category({ "Snake", "Game Loop" })
+@Enabled(false)
+@StackTrace(false)
+class FoodPlacementEvent extends jdk.jfr.Event
+{
+    static final EventType TYPE = EventType.getEventType(FoodPlacementEvent.class);
+
+    @Label("Free Cell Count")
+    int freeCellCount;
+}
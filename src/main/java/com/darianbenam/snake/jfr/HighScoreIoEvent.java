@@ -0,0 +1,36 @@
+// File Name:     HighScoreIoEvent.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Enabled;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.darianbenam.snake.HighScoreIo")
+@Label("High Score File I/O")
+@Category({ "Snake", "High Scores" })
+@Enabled(false)
+@StackTrace(false)
+class HighScoreIoEvent extends jdk.jfr.Event
+{
+    static final EventType TYPE = EventType.getEventType(HighScoreIoEvent.class);
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Path")
+    String path;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Succeeded")
+    boolean succeeded;
+}
@@ -0,0 +1,31 @@
+// File Name:     PaintEvent.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.darianbenam.snake.Paint")
+@Label("Paint")
+@Category({ "Snake", "Rendering" })
+@Enabled(false)
+@StackTrace(false)
+class PaintEvent extends jdk.jfr.Event
+{
+    static final EventType TYPE = EventType.getEventType(PaintEvent.class);
+
+    @Label("Segment Count")
+    int segmentCount;
+
+    @Label("Dirty Cell Count")
+    int dirtyCellCount;
+
+    @Label("Full Redraw")
+    boolean fullRedraw;
+}
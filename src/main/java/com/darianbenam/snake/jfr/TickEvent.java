@@ -0,0 +1,46 @@
+// File Name:     TickEvent.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("com.darianbenam.snake.Tick")
+@Label("Game Tick")
+@Description("A tick of the game loop, from taking the next turn to requesting the repaint")
+@Category({ "Snake", "Game Loop" })
+@Enabled(false)
+@StackTrace(false)
+class TickEvent extends jdk.jfr.Event
+{
+    static final EventType TYPE = EventType.getEventType(TickEvent.class);
+
+    @Label("Tick")
+    long tick;
+
+    @Label("Result")
+    String result;
+
+    @Label("Move Duration")
+    @Description("Moving the snake, including the wall and body collision test that is part of the move")
+    @Timespan(Timespan.NANOSECONDS)
+    long moveDuration;
+
+    @Label("Collision Duration")
+    @Description("Handling the outcome of the move: marking the changed cells and checking whether the food was eaten")
+    @Timespan(Timespan.NANOSECONDS)
+    long collisionDuration;
+
+    @Label("Food Duration")
+    @Description("Placing a new food, zero if no food was eaten")
+    @Timespan(Timespan.NANOSECONDS)
+    long foodDuration;
+}
@@ -0,0 +1,165 @@
+// File Name:     GameMetrics.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+public class GameMetrics implements GameMetricsMXBean
+{
+    public static final String OBJECT_NAME = "com.darianbenam.snake:type=GameMetrics";
+
+    private final int ALLOCATION_SAMPLE_TICKS = 64; // Reading the allocated bytes of a thread costs more than a tick should spend on metrics
+
+    private final LatencyHistogram tickDurationNs = new LatencyHistogram();
+    private final LatencyHistogram tickJitterNs = new LatencyHistogram();
+    private final LatencyHistogram paintDurationNs = new LatencyHistogram();
+    private final LatencyHistogram foodPlacementNs = new LatencyHistogram();
+    private final LatencyHistogram inputLatencyNs = new LatencyHistogram();
+    private final AtomicLong ticksSimulated = new AtomicLong(), framesRendered = new AtomicLong();
+
+    private final com.sun.management.ThreadMXBean threadBean;
+    private long ticksSinceAllocationSample = 0, allocatedBytesAtSample = -1; // Only used by the game loop thread
+    private volatile double allocatedBytesPerTick = -1;
+
+    /**
+     * Creates the metrics of a game. Nothing is visible over JMX until register is called.
+     */
+    public GameMetrics()
+    {
+        java.lang.management.ThreadMXBean platformThreadBean = ManagementFactory.getThreadMXBean();
+
+        if (platformThreadBean instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean)platformThreadBean).isThreadAllocatedMemorySupported())
+        {
+            threadBean = (com.sun.management.ThreadMXBean)platformThreadBean;
+            threadBean.setThreadAllocatedMemoryEnabled(true);
+        }
+        else
+        {
+            threadBean = null;
+        }
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server under OBJECT_NAME, where they can be read with jconsole or with
+     * "jcmd <pid> ManagementAgent.start" and a JMX client.
+     *
+     * @throws JMException If the metrics could not be registered (ex: another game already registered its metrics).
+     */
+    public void register() throws JMException
+    {
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+    }
+
+    /**
+     * Records a tick of the game loop. Every ALLOCATION_SAMPLE_TICKS ticks, the bytes allocated by the calling thread since the last
+     * sample are averaged over those ticks. Must always be called from the game loop thread.
+     *
+     * @param durationNs How long the tick took.
+     * @param jitterNs How late the tick started compared to when it was scheduled.
+     */
+    public void recordTick(long durationNs, long jitterNs)
+    {
+        tickDurationNs.record(durationNs);
+        tickJitterNs.record(jitterNs);
+        ticksSimulated.getAndIncrement();
+
+        if (threadBean != null && ++ticksSinceAllocationSample >= ALLOCATION_SAMPLE_TICKS)
+        {
+            final long ALLOCATED_BYTES = threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+
+            if (allocatedBytesAtSample >= 0)
+            {
+                allocatedBytesPerTick = (double)(ALLOCATED_BYTES - allocatedBytesAtSample) / ticksSinceAllocationSample;
+            }
+
+            allocatedBytesAtSample = ALLOCATED_BYTES;
+            ticksSinceAllocationSample = 0;
+        }
+    }
+
+    /**
+     * Records a frame that was painted. Safe to call from any thread.
+     *
+     * @param durationNs How long the frame took to paint.
+     */
+    public void recordFrame(long durationNs)
+    {
+        paintDurationNs.record(durationNs);
+        framesRendered.getAndIncrement();
+    }
+
+    public void recordFoodPlacement(long durationNs)
+    {
+        foodPlacementNs.record(durationNs);
+    }
+
+    public void recordInputLatency(long latencyNs)
+    {
+        inputLatencyNs.record(latencyNs);
+    }
+
+    @Override
+    public LatencyStats getTickDurationNs()
+    {
+        return tickDurationNs.getStats();
+    }
+
+    @Override
+    public LatencyStats getTickJitterNs()
+    {
+        return tickJitterNs.getStats();
+    }
+
+    @Override
+    public LatencyStats getPaintDurationNs()
+    {
+        return paintDurationNs.getStats();
+    }
+
+    @Override
+    public LatencyStats getFoodPlacementNs()
+    {
+        return foodPlacementNs.getStats();
+    }
+
+    @Override
+    public LatencyStats getInputLatencyNs()
+    {
+        return inputLatencyNs.getStats();
+    }
+
+    @Override
+    public long getTicksSimulated()
+    {
+        return ticksSimulated.get();
+    }
+
+    @Override
+    public long getFramesRendered()
+    {
+        return framesRendered.get();
+    }
+
+    @Override
+    public double getAllocatedBytesPerTick()
+    {
+        return allocatedBytesPerTick;
+    }
+
+    @Override
+    public void reset()
+    {
+        tickDurationNs.reset();
+        tickJitterNs.reset();
+        paintDurationNs.reset();
+        foodPlacementNs.reset();
+        inputLatencyNs.reset();
+        ticksSimulated.set(0);
+        framesRendered.set(0);
+    }
+}
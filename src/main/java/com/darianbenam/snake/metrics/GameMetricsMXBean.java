@@ -0,0 +1,49 @@
+// File Name:     GameMetricsMXBean.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.metrics;
+
+public interface GameMetricsMXBean
+{
+    /**
+     * Gets how long the game loop took to run each tick, in nanoseconds.
+     */
+    LatencyStats getTickDurationNs();
+
+    /**
+     * Gets how late each tick started compared to when it was scheduled, in nanoseconds.
+     */
+    LatencyStats getTickJitterNs();
+
+    /**
+     * Gets how long it took to paint each frame, in nanoseconds.
+     */
+    LatencyStats getPaintDurationNs();
+
+    /**
+     * Gets how long it took to place each food, in nanoseconds.
+     */
+    LatencyStats getFoodPlacementNs();
+
+    /**
+     * Gets the time between each direction key press and the tick that applied it, in nanoseconds.
+     */
+    LatencyStats getInputLatencyNs();
+
+    long getTicksSimulated();
+
+    long getFramesRendered();
+
+    /**
+     * Gets the average amount of bytes that the game loop thread allocated per tick, measured over the last few ticks.
+     *
+     * @return The bytes allocated per tick, or -1 if the JVM can not measure the allocations of a thread.
+     */
+    double getAllocatedBytesPerTick();
+
+    /**
+     * Clears every metric.
+     */
+    void reset();
+}
@@ -0,0 +1,137 @@
+// File Name:     LatencyHistogram.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class LatencyHistogram
+{
+    private final int SUB_BUCKET_BITS = 4;
+    private final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+    // Log-linear buckets in the style of HdrHistogram: values below SUB_BUCKET_COUNT get a bucket each, and every power of two above
+    // that is split into SUB_BUCKET_COUNT equal buckets, so a value is never off by more than 1 / SUB_BUCKET_COUNT (6.25%) of itself
+    // no matter how large it is. Recording is two atomic additions (and a compare-and-set for a new maximum), without any allocation or lock.
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalSum = new AtomicLong(), maxValue = new AtomicLong();
+
+    /**
+     * Records a value. Negative values are recorded as zero. Safe to call from any thread.
+     *
+     * @param value The value to record, in nanoseconds (or any other unit, as long as it is the same for every value).
+     */
+    public void record(long value)
+    {
+        final long VALUE = Math.max(0, value);
+
+        counts.getAndIncrement(getBucketIndex(VALUE));
+        totalSum.getAndAdd(VALUE);
+
+        long currentMax = maxValue.get();
+        while (VALUE > currentMax && !maxValue.compareAndSet(currentMax, VALUE))
+        {
+            currentMax = maxValue.get();
+        }
+    }
+
+    /**
+     * Clears every recorded value. Values that are recorded at the same time may or may not be cleared.
+     */
+    public void reset()
+    {
+        for (int i = 0; i < BUCKET_COUNT; i++)
+        {
+            counts.set(i, 0);
+        }
+
+        totalSum.set(0);
+        maxValue.set(0);
+    }
+
+    /**
+     * Summarizes the recorded values. The summary is not an atomic view of the histogram if values are recorded while it is being
+     * made, which only matters for the few values that are recorded during that time.
+     *
+     * @return The count, mean, maximum and a few percentiles of the recorded values.
+     */
+    public LatencyStats getStats()
+    {
+        final long[] PERCENTILE_RANKS = new long[4];
+        final double[] PERCENTILES = { 0.50, 0.90, 0.99, 0.999 };
+        final long[] BUCKET_COUNTS = new long[BUCKET_COUNT];
+        long count = 0;
+
+        for (int i = 0; i < BUCKET_COUNT; i++)
+        {
+            BUCKET_COUNTS[i] = counts.get(i);
+            count += BUCKET_COUNTS[i];
+        }
+
+        for (int p = 0; p < PERCENTILES.length; p++)
+        {
+            PERCENTILE_RANKS[p] = Math.max(1, (long)Math.ceil(PERCENTILES[p] * count));
+        }
+
+        final long[] PERCENTILE_VALUES = new long[PERCENTILES.length];
+        long seen = 0;
+        int p = 0;
+
+        for (int i = 0; i < BUCKET_COUNT && p < PERCENTILES.length && count > 0; i++)
+        {
+            seen += BUCKET_COUNTS[i];
+
+            while (p < PERCENTILES.length && seen >= PERCENTILE_RANKS[p])
+            {
+                PERCENTILE_VALUES[p++] = getBucketHighestValue(i);
+            }
+        }
+
+        final long MAX = maxValue.get();
+        final double MEAN = count == 0 ? 0 : (double)totalSum.get() / count;
+
+        return new LatencyStats(count, MEAN, Math.min(PERCENTILE_VALUES[0], MAX), Math.min(PERCENTILE_VALUES[1], MAX), Math.min(PERCENTILE_VALUES[2], MAX), Math.min(PERCENTILE_VALUES[3], MAX), MAX);
+    }
+
+    /**
+     * Gets the bucket that a value falls into.
+     *
+     * @param value A value that is zero or more.
+     * @return The index of the bucket.
+     */
+    private int getBucketIndex(long value)
+    {
+        if (value < SUB_BUCKET_COUNT)
+        {
+            return (int)value;
+        }
+
+        final int EXPONENT = 63 - Long.numberOfLeadingZeros(value); // At least SUB_BUCKET_BITS
+        final int SUB_BUCKET = (int)(value >>> (EXPONENT - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+
+        return (EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + SUB_BUCKET;
+    }
+
+    /**
+     * Gets the largest value that falls into a bucket.
+     *
+     * @param index The index of the bucket.
+     * @return The largest value of the bucket.
+     */
+    private long getBucketHighestValue(int index)
+    {
+        if (index < SUB_BUCKET_COUNT)
+        {
+            return index;
+        }
+
+        final int EXPONENT = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        final long SUB_BUCKET = index % SUB_BUCKET_COUNT;
+        final long BUCKET_WIDTH = 1L << (EXPONENT - SUB_BUCKET_BITS);
+
+        return (1L << EXPONENT) + (SUB_BUCKET + 1) * BUCKET_WIDTH - 1;
+    }
+}
@@ -0,0 +1,79 @@
+// File Name:     LatencyStats.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.metrics;
+
+import java.beans.ConstructorProperties;
+
+public class LatencyStats
+{
+    private final long count;
+    private final double mean;
+    private final long p50, p90, p99, p999, max;
+
+    /**
+     * Creates a summary of a latency histogram. The getters of this class are what JMX clients (ex: jconsole) show as the fields of
+     * the attribute, and the constructor properties let a client that uses an MXBean proxy build the summary back from them.
+     *
+     * @param count The amount of recorded values.
+     * @param mean The mean of the recorded values.
+     * @param p50 The median.
+     * @param p90 The 90th percentile.
+     * @param p99 The 99th percentile.
+     * @param p999 The 99.9th percentile.
+     * @param max The largest recorded value.
+     */
+    @ConstructorProperties({ "count", "mean", "p50", "p90", "p99", "p999", "max" })
+    public LatencyStats(long count, double mean, long p50, long p90, long p99, long p999, long max)
+    {
+        this.count = count;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.p999 = p999;
+        this.max = max;
+    }
+
+    public long getCount()
+    {
+        return count;
+    }
+
+    public double getMean()
+    {
+        return mean;
+    }
+
+    public long getP50()
+    {
+        return p50;
+    }
+
+    public long getP90()
+    {
+        return p90;
+    }
+
+    public long getP99()
+    {
+        return p99;
+    }
+
+    public long getP999()
+    {
+        return p999;
+    }
+
+    public long getMax()
+    {
+        return max;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("count=%d mean=%.0f p50=%d p90=%d p99=%d p99.9=%d max=%d", count, mean, p50, p90, p99, p999, max);
+    }
+}
@@ -0,0 +1,201 @@
+// File Name:     Replay.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.replay;
+
+import com.darianbenam.snake.game.Direction;
+import com.darianbenam.snake.game.SnakeGame;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+public class Replay
+{
+    public static final String FILE_EXTENSION = ".snr";
+    static final byte[] MAGIC = { 'S', 'N', 'K', 'R' };
+    static final byte FORMAT_VERSION = 1;
+
+    public final boolean WALL_COLLISION;
+    public final int MAP_HEIGHT, MAP_WIDTH;
+    public final long SEED, TICK_COUNT;
+
+    private final Direction[] DIRECTIONS = Direction.values();
+    private final long[] turnTicks;
+    private final byte[] turnDirections;
+
+    private byte[] data;
+    private int position;
+
+    /**
+     * Parses a recorded game.
+     *
+     * @param data The bytes of the replay, as written by ReplayRecorder.
+     * @throws IOException If the bytes are not a replay or if they are cut off.
+     */
+    private Replay(byte[] data) throws IOException
+    {
+        this.data = data;
+
+        for (byte magicByte : MAGIC)
+        {
+            if (readByte() != magicByte)
+            {
+                throw new IOException("The data is not a snake replay.");
+            }
+        }
+
+        if (readByte() != FORMAT_VERSION)
+        {
+            throw new IOException("The replay was recorded with an unsupported format version.");
+        }
+
+        MAP_HEIGHT = (int)readVarLong();
+        MAP_WIDTH = (int)readVarLong();
+        WALL_COLLISION = readByte() != 0;
+
+        long seed = 0;
+        for (int i = 0; i < 8; i++)
+        {
+            seed = seed << 8 | (readByte() & 0xFF);
+        }
+        SEED = seed;
+
+        long[] ticks = new long[16];
+        byte[] directions = new byte[16];
+        int turnCount = 0;
+        long tick = 0;
+
+        for (long turn = readVarLong(); turn != 0; turn = readVarLong())
+        {
+            if (turnCount == ticks.length)
+            {
+                ticks = Arrays.copyOf(ticks, turnCount * 2);
+                directions = Arrays.copyOf(directions, turnCount * 2);
+            }
+
+            tick += turn >>> 2;
+            ticks[turnCount] = tick;
+            directions[turnCount] = (byte)(turn & 3);
+            turnCount++;
+        }
+
+        TICK_COUNT = readVarLong();
+        turnTicks = Arrays.copyOf(ticks, turnCount);
+        turnDirections = Arrays.copyOf(directions, turnCount);
+
+        this.data = null;
+    }
+
+    /**
+     * Parses a recorded game from the bytes written by ReplayRecorder.
+     *
+     * @param data The bytes of the replay.
+     * @return The parsed replay.
+     * @throws IOException If the bytes are not a replay or if they are cut off.
+     */
+    public static Replay fromBytes(byte[] data) throws IOException
+    {
+        return new Replay(data);
+    }
+
+    /**
+     * Reads a recorded game from a file.
+     *
+     * @param file The replay file.
+     * @return The parsed replay.
+     * @throws IOException If the file could not be read or is not a replay.
+     */
+    public static Replay read(Path file) throws IOException
+    {
+        return new Replay(Files.readAllBytes(file));
+    }
+
+    /**
+     * Creates a game with the settings and the seed of the recorded game. Stepping it with getDirectionAt(tick) for every tick
+     * plays the recorded game again.
+     *
+     * @return A new game that is ready to be stepped.
+     */
+    public SnakeGame createGame()
+    {
+        return new SnakeGame(MAP_HEIGHT, MAP_WIDTH, WALL_COLLISION, SEED);
+    }
+
+    public int getTurnCount()
+    {
+        return turnTicks.length;
+    }
+
+    /**
+     * Gets the tick at which a turn was made.
+     *
+     * @param turn A number between 0 and getTurnCount() - 1.
+     * @return The number of the tick (starting at 1) that the direction of the turn was first given to.
+     */
+    public long getTurnTick(int turn)
+    {
+        return turnTicks[turn];
+    }
+
+    public Direction getTurnDirection(int turn)
+    {
+        return DIRECTIONS[turnDirections[turn]];
+    }
+
+    /**
+     * Gets the amount of turns that were made at or before a specific tick.
+     *
+     * @param tick The number of the tick, starting at 1.
+     * @return The index of the first turn that was made after the tick.
+     */
+    public int getTurnCountUntil(long tick)
+    {
+        int turn = Arrays.binarySearch(turnTicks, tick);
+
+        return turn < 0 ? -turn - 1 : turn + 1;
+    }
+
+    /**
+     * Gets the direction that was given to SnakeGame.step for a specific tick. This is a binary search over the turns, players
+     * that go through the ticks in order should walk the turns with getTurnTick and getTurnDirection instead.
+     *
+     * @param tick The number of the tick, starting at 1.
+     * @return The direction that was given to the game on that tick.
+     */
+    public Direction getDirectionAt(long tick)
+    {
+        final int TURN_COUNT = getTurnCountUntil(tick);
+
+        return TURN_COUNT == 0 ? SnakeGame.INITIAL_SNAKE_DIR : getTurnDirection(TURN_COUNT - 1);
+    }
+
+    private long readVarLong() throws IOException
+    {
+        long value = 0;
+
+        for (int shift = 0; shift < 64; shift += 7)
+        {
+            int b = readByte();
+            value |= (long)(b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0)
+            {
+                return value;
+            }
+        }
+
+        throw new IOException("The replay contains a malformed number.");
+    }
+
+    private int readByte() throws IOException
+    {
+        if (position >= data.length)
+        {
+            throw new IOException("The replay is cut off.");
+        }
+
+        return data[position++];
+    }
+}
@@ -0,0 +1,140 @@
+// File Name:     ReplayPlayer.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.replay;
+
+import com.darianbenam.snake.game.Direction;
+import com.darianbenam.snake.game.GameSnapshot;
+import com.darianbenam.snake.game.SnakeGame;
+import com.darianbenam.snake.game.StepResult;
+import java.util.ArrayList;
+
+public class ReplayPlayer
+{
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 1000;
+    public final int KEYFRAME_INTERVAL;
+
+    private final Replay replay;
+    private final SnakeGame game;
+    private final ArrayList<GameSnapshot> keyframes = new ArrayList<GameSnapshot>();
+
+    // The direction that was given to the game on the last tick and the next turn that has not been applied yet
+    private Direction currentDirection;
+    private int nextTurn;
+
+    /**
+     * Constructor which creates a player for a recorded game. The whole game is simulated once up front to take a keyframe (a
+     * snapshot of the game) every keyframeInterval ticks, so that seeking to any tick later on only has to restore the closest
+     * keyframe and simulate at most keyframeInterval ticks.
+     *
+     * @param replay The recorded game to play.
+     * @param keyframeInterval The amount of ticks between two keyframes. Smaller intervals make seeking faster but use more memory.
+     */
+    public ReplayPlayer(Replay replay, int keyframeInterval)
+    {
+        this.replay = replay;
+        this.KEYFRAME_INTERVAL = keyframeInterval;
+
+        game = replay.createGame();
+
+        rewind();
+        keyframes.add(game.createSnapshot());
+
+        while (game.getTickCount() < replay.TICK_COUNT && step() != null)
+        {
+            if (game.getTickCount() % keyframeInterval == 0)
+            {
+                keyframes.add(game.createSnapshot());
+            }
+        }
+
+        seek(0);
+    }
+
+    /**
+     * Gets the game that the replay is played on. The game is only changed by this player, so it should not be stepped directly.
+     *
+     * @return The game that shows the current tick of the replay.
+     */
+    public SnakeGame getGame()
+    {
+        return game;
+    }
+
+    public Replay getReplay()
+    {
+        return replay;
+    }
+
+    public long getTick()
+    {
+        return game.getTickCount();
+    }
+
+    /**
+     * States whether the replay has been played until its last tick.
+     *
+     * @return True if there are no ticks left to play, if not, false.
+     */
+    public boolean isFinished()
+    {
+        return game.isGameOver() || game.getTickCount() >= replay.TICK_COUNT;
+    }
+
+    /**
+     * Brings the game to the state it was in right after a specific tick was played. The closest keyframe at or before the tick
+     * is restored and the ticks after it are simulated again, so this never simulates more than KEYFRAME_INTERVAL ticks.
+     *
+     * @param tick The tick to seek to, where 0 is the start of the game. Ticks past the end of the replay seek to the end.
+     */
+    public void seek(long tick)
+    {
+        final long TARGET_TICK = Math.max(0, Math.min(tick, replay.TICK_COUNT));
+        final int KEYFRAME_INDEX = (int)Math.min(TARGET_TICK / KEYFRAME_INTERVAL, keyframes.size() - 1);
+
+        game.restoreSnapshot(keyframes.get(KEYFRAME_INDEX));
+
+        nextTurn = replay.getTurnCountUntil(game.getTickCount());
+        currentDirection = replay.getDirectionAt(game.getTickCount());
+
+        while (game.getTickCount() < TARGET_TICK && step() != null)
+        {
+            // Simulate the ticks between the keyframe and the target tick
+        }
+    }
+
+    /**
+     * Plays the next tick of the replay.
+     *
+     * @return The outcome of the tick, or null if the replay is finished.
+     */
+    public StepResult step()
+    {
+        if (isFinished())
+        {
+            return null;
+        }
+
+        final long TICK = game.getTickCount() + 1;
+
+        while (nextTurn < replay.getTurnCount() && replay.getTurnTick(nextTurn) <= TICK)
+        {
+            currentDirection = replay.getTurnDirection(nextTurn);
+            nextTurn++;
+        }
+
+        return game.step(currentDirection);
+    }
+
+    /**
+     * Brings the game back to its first tick without using a keyframe.
+     */
+    private void rewind()
+    {
+        game.reset(replay.SEED);
+
+        currentDirection = SnakeGame.INITIAL_SNAKE_DIR;
+        nextTurn = 0;
+    }
+}
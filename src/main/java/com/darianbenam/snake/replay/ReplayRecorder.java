@@ -0,0 +1,165 @@
+// File Name:     ReplayRecorder.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.replay;
+
+import com.darianbenam.snake.game.Direction;
+import com.darianbenam.snake.game.SnakeGame;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+public class ReplayRecorder
+{
+    private final int INITIAL_BUFFER_SIZE = 4096;
+
+    private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+    private int size = 0;
+    private boolean recording = false;
+    private Direction lastDirection;
+    private long lastTurnTick;
+
+    /**
+     * States whether a game is currently being recorded, that is, start was called and finish was not called yet.
+     *
+     * @return True if a game is being recorded, if not, false.
+     */
+    public boolean isRecording()
+    {
+        return recording;
+    }
+
+    /**
+     * Gets the amount of bytes that were recorded so far.
+     *
+     * @return The size of the recording, in bytes.
+     */
+    public int getSize()
+    {
+        return size;
+    }
+
+    /**
+     * Starts recording a game that was just reset. Only the settings and the seed of the game are written, since every other part
+     * of the game can be simulated again from them. Any recording that was not finished is thrown away.
+     *
+     * @param game The game to record. It must not have been stepped yet.
+     */
+    public void start(SnakeGame game)
+    {
+        size = 0;
+        recording = true;
+        lastDirection = game.getSnakeDirection();
+        lastTurnTick = 0;
+
+        for (byte magicByte : Replay.MAGIC)
+        {
+            writeByte(magicByte);
+        }
+
+        writeByte(Replay.FORMAT_VERSION);
+        writeVarLong(game.MAP_HEIGHT);
+        writeVarLong(game.MAP_WIDTH);
+        writeByte(game.WALL_COLLISION ? 1 : 0);
+
+        for (int shift = 56; shift >= 0; shift -= 8)
+        {
+            writeByte((int)(game.getSeed() >>> shift));
+        }
+    }
+
+    /**
+     * Records the direction that is about to be given to SnakeGame.step. Only changes of direction are written, each of them as
+     * a single varint that holds the amount of ticks since the last change and the new direction, which takes one or two bytes
+     * for a normal game. This only writes into an in-memory buffer, so it is cheap enough to be called on every tick.
+     *
+     * @param tick The number of the tick that is about to run (SnakeGame.getTickCount() + 1).
+     * @param dir The direction that will be given to SnakeGame.step.
+     */
+    public void recordDirection(long tick, Direction dir)
+    {
+        if (!recording || dir == lastDirection)
+        {
+            return;
+        }
+
+        writeVarLong((tick - lastTurnTick) << 2 | dir.ordinal());
+
+        lastDirection = dir;
+        lastTurnTick = tick;
+    }
+
+    /**
+     * Finishes the recording of a game that is over. A zero (which is never a valid turn since two turns are at least one tick
+     * apart) marks the end of the turns and is followed by the amount of ticks the game lasted.
+     *
+     * @param tickCount The amount of ticks that the game lasted.
+     */
+    public void finish(long tickCount)
+    {
+        if (!recording)
+        {
+            return;
+        }
+
+        writeVarLong(0);
+        writeVarLong(tickCount);
+
+        recording = false;
+    }
+
+    /**
+     * Gets a copy of the recorded bytes.
+     *
+     * @return The recording, in the format that Replay.fromBytes reads.
+     */
+    public byte[] toByteArray()
+    {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    /**
+     * Writes the recorded bytes to a file. The directory of the file is created if it does not exist.
+     *
+     * @param file The file to write the replay to.
+     * @throws IOException If the file could not be written.
+     */
+    public void writeTo(Path file) throws IOException
+    {
+        if (file.getParent() != null)
+        {
+            Files.createDirectories(file.getParent());
+        }
+
+        Files.write(file, toByteArray());
+    }
+
+    /**
+     * Writes a number as an unsigned varint (7 bits per byte, lowest bits first, the high bit of a byte is set when more bytes
+     * follow).
+     *
+     * @param value The number to write.
+     */
+    private void writeVarLong(long value)
+    {
+        while ((value & ~0x7FL) != 0)
+        {
+            writeByte((int)(value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        writeByte((int)value);
+    }
+
+    private void writeByte(int value)
+    {
+        if (size == buffer.length)
+        {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+
+        buffer[size++] = (byte)value;
+    }
+}
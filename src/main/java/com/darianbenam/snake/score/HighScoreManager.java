@@ -4,44 +4,72 @@
 
 package com.darianbenam.snake.score;
 
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.util.Scanner;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
 
 public class HighScoreManager
 {
-    public final String HIGH_SCORE_FILE_PATH = "data\\highscores.dat";
+    public final String HIGH_SCORE_FILE_PATH;
+    public final String LEGACY_HIGH_SCORE_FILE_PATH;
     public final int HIGH_SCORES_COUNT = 5;
+    public final String UNNAMED_PLAYER_NAME = "Anonymous";
     public final int MIN_NAME_LENGTH = 1, MAX_NAME_LENGTH = 30;
 
     private final String DATA_DELIMITER = "\\|"; // NOTE: The pipe symbol is a metacharacter in regex so we must escape it by using two backwards slashes
     private final String COMMENT_PREFIX = "--";
 
-    private HighScore[] highScoresLeaderboard;
+    private final HighScoreStore highScoreStore;
+    private final Leaderboard leaderboard = new Leaderboard();
+    private volatile HighScore[] highScoresLeaderboard; // The top HIGH_SCORES_COUNT high scores of the leaderboard, padded with blank ones
+    private final ArrayList<HighScore> unsavedHighScores = new ArrayList<HighScore>(); // Runs recorded since the last save, oldest first
+    private boolean rewriteNeeded = false; // Whether the next save has to replace the whole file (ex: after the high scores were cleared)
+    private HighScoreWriter highScoreWriter = null;
 
     /**
-     * Creates a new instance of a High Score Manager with default values. No high scores are loaded by calling this constructor. If you
-     * want to load high scores, use the load high scores method.
+     * Creates a new instance of a High Score Manager with default values, which keeps its high scores in data/highscores.bin under the
+     * working directory. No high scores are loaded by calling this constructor. If you want to load high scores, use the load high
+     * scores method.
      * 
      * @see #loadHighScores()
      */
     public HighScoreManager()
     {
-        clearHighScoresLeaderboard();
+        this(Paths.get("data", "highscores.bin"));
     }
- 
+
     /**
-     * Clears the high score leaderboard by creating a new one initializing each indexes value to have a blank name with a score of zero.
+     * Creates a new instance of a High Score Manager that keeps its high scores in a given file (ex: a file in a temporary directory,
+     * so that benchmarks do not touch the high scores of the player). The high score file of an older version of the game is looked
+     * for in the same directory. No high scores are loaded by calling this constructor.
+     *
+     * @param highScoreFilePath The path of the high score file.
+     * @see #loadHighScores()
      */
-    public void clearHighScoresLeaderboard()
+    public HighScoreManager(Path highScoreFilePath)
     {
-        highScoresLeaderboard = new HighScore[HIGH_SCORES_COUNT];
+        this.HIGH_SCORE_FILE_PATH = highScoreFilePath.toString();
+        this.LEGACY_HIGH_SCORE_FILE_PATH = highScoreFilePath.resolveSibling("highscores.dat").toString();
+        this.highScoreStore = new HighScoreStore(highScoreFilePath, MAX_NAME_LENGTH);
 
-        for (int i = 0; i < HIGH_SCORES_COUNT; i++)
-        {
-            highScoresLeaderboard[i] = new HighScore("", 0);
-        }
+        refreshHighScoresLeaderboard();
+    }
+ 
+    /**
+     * Clears the high score leaderboard. Until a high score is added, every rank shows a blank name with a score of zero. The next
+     * save replaces the whole high score file.
+     */
+    public synchronized void clearHighScoresLeaderboard()
+    {
+        leaderboard.clear();
+        unsavedHighScores.clear();
+        rewriteNeeded = true;
+        refreshHighScoresLeaderboard();
     }
 
     /**
@@ -55,9 +83,9 @@ public class HighScoreManager
     }
 
     /**
-     * Gets all the high scores currently stored in the high score manager.
+     * Gets the top high scores currently stored in the high score manager.
      * 
-     * @return An array of type HighScore which is read only.
+     * @return An array of type HighScore which is read only and holds HIGH_SCORES_COUNT high scores.
      */
     public final HighScore[] getHighScoresLeaderboard()
     {
@@ -65,77 +93,242 @@ public class HighScoreManager
     }
 
     /**
-     * Gets the header comment which appears at the top of the high scores file.
-     * 
-     * @return A String which contains the header comment.
+     * Gets the leaderboard that holds the score of every run that was recorded, which can be ranked and paged through past the top
+     * HIGH_SCORES_COUNT high scores.
+     *
+     * @return The leaderboard of the high score manager.
      */
-    private String getFileHeaderComment()
+    public Leaderboard getLeaderboard()
     {
-        return COMMENT_PREFIX + " This file stores the high scores for the Snake Game by Darian Benam.\n" + COMMENT_PREFIX + " MODIFYING THIS FILE CAN RESULT IN DATA CORRUPTION / UNEXPECTED PROGRAM BEHAVIOUR.\n\n";
+        return leaderboard;
     }
 
     /**
-     * Loads the high scores stored in the high score file. The high score file is defined in the global constant variable
-     * HIGH_SCORE_FILE_PATH.
+     * Loads the high scores stored in the high score file, which replace the ones of the leaderboard. The high score file is defined
+     * in the global constant variable HIGH_SCORE_FILE_PATH. If it does not exist yet but a high score file from an older version of
+     * the game does (the text file at LEGACY_HIGH_SCORE_FILE_PATH), the old file is loaded instead and migrated to the new format.
+     * The old file is left as is.
      * 
      * @throws Exception
      */
-    public void loadHighScores() throws Exception
+    public synchronized void loadHighScores() throws Exception
+    {
+        if (highScoreStore.exists())
+        {
+            fillLeaderboard(highScoreStore.load());
+
+            return;
+        }
+
+        Path legacyFilePath = findLegacyHighScoreFile();
+
+        if (legacyFilePath != null)
+        {
+            loadLegacyHighScores(legacyFilePath);
+
+            rewriteNeeded = true;
+            saveHighScores();
+        }
+    }
+
+    /**
+     * Saves the runs that were recorded since the last save to the hard drive by appending them to the high score file. After the
+     * high scores were cleared, the whole file is replaced instead.
+     * 
+     * @throws IOException
+     */
+    public synchronized void saveHighScores() throws IOException
+    {
+        if (rewriteNeeded)
+        {
+            highScoreStore.rewrite(getAllHighScores());
+        }
+        else
+        {
+            highScoreStore.append(unsavedHighScores.toArray(new HighScore[0]));
+        }
+
+        unsavedHighScores.clear();
+        rewriteNeeded = false;
+    }
+
+    /**
+     * Starts saving the high scores on a background thread. Once started, saveHighScoresInBackground can be used to save the high
+     * scores without waiting on the hard drive, and the high scores that are still waiting to be saved are saved when the program
+     * exits.
+     *
+     * @param saveFailureHandler Called on the background thread when a save fails.
+     */
+    public void startBackgroundSaving(Consumer<IOException> saveFailureHandler)
+    {
+        if (highScoreWriter == null)
+        {
+            highScoreWriter = new HighScoreWriter(highScoreStore, saveFailureHandler);
+            highScoreWriter.start();
+        }
+    }
+
+    /**
+     * Queues a save of the runs that were recorded since the last save (or of the whole leaderboard after the high scores were
+     * cleared) on the background thread and returns right away. Failures are reported to the handler given to startBackgroundSaving.
+     *
+     * @throws IllegalStateException If background saving was not started.
+     */
+    public synchronized void saveHighScoresInBackground()
+    {
+        if (highScoreWriter == null)
+        {
+            throw new IllegalStateException("Background saving has not been started.");
+        }
+
+        if (rewriteNeeded)
+        {
+            highScoreWriter.requestRewrite(getAllHighScores());
+        }
+        else if (!unsavedHighScores.isEmpty())
+        {
+            highScoreWriter.requestAppend(unsavedHighScores.toArray(new HighScore[0]));
+        }
+
+        unsavedHighScores.clear();
+        rewriteNeeded = false;
+    }
+
+    /**
+     * Gets every high score of the leaderboard, from the worst to the best. The newest of two equal scores comes last, so adding the
+     * high scores to a leaderboard in this order ranks them the same way again.
+     *
+     * @return The high scores of the leaderboard.
+     */
+    private HighScore[] getAllHighScores()
     {
-        File highScoreFile = new File(HIGH_SCORE_FILE_PATH);
-        Scanner fileReader = new Scanner(highScoreFile);
+        HighScore[] highScores = leaderboard.getTop(Integer.MAX_VALUE);
+
+        for (int i = 0, j = highScores.length - 1; i < j; i++, j--)
+        {
+            HighScore highScore = highScores[i];
+            highScores[i] = highScores[j];
+            highScores[j] = highScore;
+        }
+
+        return highScores;
+    }
+
+    /**
+     * Finds the high score file of an older version of the game. Older versions used a Windows-only path, which on other operating
+     * systems created a file with a backslash in its name next to the data directory, so that file is checked as well.
+     *
+     * @return The path of the old high score file, or null if there is none.
+     */
+    private Path findLegacyHighScoreFile()
+    {
+        final Path DIRECTORY_PATH = Paths.get(HIGH_SCORE_FILE_PATH).getParent();
+        final Path[] CANDIDATE_PATHS =
+        {
+            Paths.get(LEGACY_HIGH_SCORE_FILE_PATH),
+            DIRECTORY_PATH == null ? null : DIRECTORY_PATH.resolveSibling(DIRECTORY_PATH.getFileName() + "\\highscores.dat")
+        };
+
+        for (Path candidatePath : CANDIDATE_PATHS)
+        {
+            if (candidatePath != null && Files.isRegularFile(candidatePath))
+            {
+                return candidatePath;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Loads the high scores from a text file written by an older version of the game, where every line that is not empty and is
+     * not a comment holds a name and a score separated by the data delimiter.
+     *
+     * @param legacyFilePath The path of the old high score file.
+     * @throws IOException If the file could not be read.
+     */
+    private void loadLegacyHighScores(Path legacyFilePath) throws IOException
+    {
+        List<String> highScoreLines = Files.readAllLines(legacyFilePath);
+        HighScore[] highScores = new HighScore[HIGH_SCORES_COUNT];
 
         int totalLinesRead = 0;
-        String highScoreLine;
         String[] lineTokens;
-        
-        while (fileReader.hasNextLine() && totalLinesRead < HIGH_SCORES_COUNT)
+
+        for (String highScoreLine : highScoreLines)
         {
-            highScoreLine = fileReader.nextLine();
+            if (totalLinesRead >= HIGH_SCORES_COUNT)
+            {
+                break;
+            }
 
             // Skip over empty lines and lines that are comments
-            if (highScoreLine.isEmpty() 
-                || highScoreLine.length() >= COMMENT_PREFIX.length()
-                && highScoreLine.substring(0, COMMENT_PREFIX.length()).equals(COMMENT_PREFIX))
+            if (highScoreLine.isEmpty() || highScoreLine.startsWith(COMMENT_PREFIX))
             {
                 continue;
             }
 
             lineTokens = highScoreLine.split(DATA_DELIMITER);
 
-            highScoresLeaderboard[totalLinesRead].name = lineTokens[0];
-            highScoresLeaderboard[totalLinesRead].score = Integer.parseInt(lineTokens[1]);
+            highScores[totalLinesRead] = new HighScore(lineTokens[0], Integer.parseInt(lineTokens[1]));
 
             totalLinesRead++;
         }
 
-        fileReader.close();
+        // The high scores are added from the worst to the best because the leaderboard ranks the newest of two equal scores first
+        List<HighScore> rankedHighScores = new ArrayList<HighScore>(totalLinesRead);
+
+        for (int i = totalLinesRead - 1; i >= 0; i--)
+        {
+            rankedHighScores.add(highScores[i]);
+        }
+
+        fillLeaderboard(rankedHighScores);
     }
 
     /**
-     * Saves the high score leaderboard to the hard drive.
-     * 
-     * @throws IOException
+     * Replaces the high scores of the leaderboard. Blank high scores (the ones with an empty name) are left out.
+     *
+     * @param highScores The high scores, in the order they were recorded.
      */
-    public void saveHighScores() throws IOException
+    private void fillLeaderboard(List<HighScore> highScores)
     {
-        File highScoreFile = new File(HIGH_SCORE_FILE_PATH);
-        FileWriter fileWriter = new FileWriter(highScoreFile);
+        leaderboard.clear();
+        unsavedHighScores.clear();
+        rewriteNeeded = false;
+
+        for (HighScore highScore : highScores)
+        {
+            if (!highScore.name.isEmpty())
+            {
+                leaderboard.add(highScore.name, highScore.score);
+            }
+        }
 
-        // First write the header comment
-        fileWriter.write(getFileHeaderComment());
+        refreshHighScoresLeaderboard();
+    }
 
-        // Now write all the high scores
-        for (int i = 0; i < highScoresLeaderboard.length; i++)
+    /**
+     * Copies the top high scores of the leaderboard, padding the ranks that are not taken with a blank name and a score of zero.
+     */
+    private void refreshHighScoresLeaderboard()
+    {
+        HighScore[] topHighScores = Arrays.copyOf(leaderboard.getTop(HIGH_SCORES_COUNT), HIGH_SCORES_COUNT);
+
+        for (int i = 0; i < HIGH_SCORES_COUNT; i++)
         {
-            fileWriter.write(highScoresLeaderboard[i].name + getDataDelimiter() + highScoresLeaderboard[i].score + (i == highScoresLeaderboard.length - 1 ? "" : "\n"));
+            if (topHighScores[i] == null)
+            {
+                topHighScores[i] = new HighScore("", 0);
+            }
         }
 
-        fileWriter.close();
+        highScoresLeaderboard = topHighScores;
     }
 
     /**
-     * Gets the rank position for a score. If a score beats a current high score, then that rank position is returned.
+     * Gets the rank position for a score. If a score beats a current high score, then that rank position is returned. A score that
+     * ties a high score is ranked ahead of it.
      * 
      * @param score The score to be compared to the current high scores.
      * @return Either a number >= 1 if the score beat a high score (where that number represents the rank position of the high score), or
@@ -143,15 +336,9 @@ public class HighScoreManager
      */
     public int getHighScoreRank(int score)
     {
-        for (int i = 0; i < highScoresLeaderboard.length; i++)
-        {
-            if (score >= highScoresLeaderboard[i].score)
-            {
-                return i + 1;
-            }
-        }
+        final int RANK = leaderboard.getRank(score);
 
-        return -1;
+        return RANK <= HIGH_SCORES_COUNT ? RANK : -1;
     }
 
     /**
@@ -171,9 +358,26 @@ public class HighScoreManager
     }
 
     /**
-     * Updates the high score list by adding/replacing a name at a specified rank.
+     * Records the score of a run on the leaderboard, whether or not it made the top HIGH_SCORES_COUNT. The run is written to the
+     * high score file by the next save.
+     *
+     * @param name The name of the player, or UNNAMED_PLAYER_NAME if the player did not enter one.
+     * @param score The score of the run.
+     * @return The rank of the run among every run on the leaderboard, where 1 is the best.
+     */
+    public synchronized int recordScore(String name, int score)
+    {
+        final int RANK = leaderboard.add(name, score);
+        unsavedHighScores.add(new HighScore(name, score));
+        refreshHighScoresLeaderboard();
+
+        return RANK;
+    }
+
+    /**
+     * Updates the high score list by adding a name at a specified rank. The high scores below it move down one rank.
      * 
-     * @param rank The rank that this user will take.
+     * @param rank The rank that this user will take, as returned by getHighScoreRank for the score.
      * @param name The name of the user who got the high score.
      * @param score The high score the user achieved.
      * 
@@ -183,20 +387,12 @@ public class HighScoreManager
     {
         final int RANK_INDEX = rank - 1;
 
-        if (RANK_INDEX < 0 || RANK_INDEX > HIGH_SCORES_COUNT)
+        if (RANK_INDEX < 0 || RANK_INDEX >= HIGH_SCORES_COUNT)
         {
             throw new RuntimeException("Rank out of bounds.");
         }
 
-        // First shift all the high scores down
-        for (int i = highScoresLeaderboard.length - 1; i > RANK_INDEX; i--)
-        {
-            highScoresLeaderboard[i].name = highScoresLeaderboard[i - 1].name;
-            highScoresLeaderboard[i].score = highScoresLeaderboard[i - 1].score;
-        }
-
-        // Now update the high score
-        highScoresLeaderboard[RANK_INDEX].name = name;
-        highScoresLeaderboard[RANK_INDEX].score = score;
+        // The leaderboard places the high score by its score, which puts it at the given rank if the rank came from getHighScoreRank
+        recordScore(name, score);
     }
 }
@@ -0,0 +1,511 @@
+// File Name:     HighScoreStore.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.score;
+
+import com.darianbenam.snake.jfr.FlightRecorderEvents;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+public class HighScoreStore
+{
+    public static final int FORMAT_VERSION = 2;
+
+    private final int MAGIC = 0x534E4853; // "SNHS"
+    private final int HEADER_SIZE = 16; // Magic (4), version (2), reserved (2), record size (4), CRC32 of the first 12 bytes (4)
+    private final int HEADER_CHECKSUM_OFFSET = 12;
+    private final int READ_CHUNK_RECORD_COUNT = 4096;
+
+    // Version 1 files hold a ranked snapshot of up to 65535 high scores: magic (4), version (2), record count (2), record size (4) and
+    // the CRC32 of every record (4), followed by records that have no checksum of their own
+    private final int VERSION_1 = 1;
+    private final int VERSION_1_MAX_RECORD_COUNT = 0xFFFF;
+
+    private final Path FILE_PATH, TEMP_FILE_PATH;
+    private final int MAX_NAME_LENGTH, RECORD_SIZE, RECORD_DATA_SIZE;
+
+    /**
+     * Creates a store that keeps the score of every run in a binary file. The file is a log of fixed-size records (score, name
+     * length, the characters of the name padded up to the maximum name length and the CRC32 of all of those) in the order the runs
+     * were recorded, so recording a run only appends a record to the end of the file and the rest of the file is never written
+     * again. A record that was only partly written (ex: the game crashed during an append) or was damaged fails its checksum and is
+     * dropped when the file is loaded, without losing the records around it.
+     *
+     * @param filePath The path of the high score file.
+     * @param maxNameLength The longest name that a high score can have.
+     */
+    public HighScoreStore(Path filePath, int maxNameLength)
+    {
+        this.FILE_PATH = filePath;
+        this.TEMP_FILE_PATH = filePath.resolveSibling(filePath.getFileName() + ".tmp");
+        this.MAX_NAME_LENGTH = maxNameLength;
+        this.RECORD_DATA_SIZE = 4 + 2 + 2 * maxNameLength;
+        this.RECORD_SIZE = RECORD_DATA_SIZE + 4;
+    }
+
+    public boolean exists()
+    {
+        return Files.exists(FILE_PATH);
+    }
+
+    /**
+     * Loads every high score from the file, in the order they were recorded. Records that fail their checksum are dropped, and the
+     * file is then compacted (rewritten with only the records that are intact) so the next appends do not land after a damaged
+     * record. A file written by an older version of the game (a ranked snapshot of the best high scores) is loaded and rewritten in
+     * the current format the same way.
+     *
+     * @return The high scores, oldest first. Adding them to a leaderboard in this order ranks the ties the same way as when they
+     *         were recorded.
+     * @throws IOException If the file could not be read or its header is not one that this store wrote.
+     */
+    public synchronized List<HighScore> load() throws IOException
+    {
+        final Object LOAD_EVENT = FlightRecorderEvents.beginHighScoreIo();
+        long bytesRead = 0;
+        boolean succeeded = false;
+        boolean compactionNeeded = false;
+        List<HighScore> highScores;
+
+        try (FileChannel channel = FileChannel.open(FILE_PATH, StandardOpenOption.READ))
+        {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(channel, header, 0);
+            header.flip();
+
+            if (header.limit() < HEADER_SIZE || header.getInt(0) != MAGIC)
+            {
+                throw new IOException("The file is not a high score file.");
+            }
+
+            if (header.getShort(4) == VERSION_1)
+            {
+                highScores = loadVersion1(channel);
+                bytesRead = channel.size();
+                compactionNeeded = true;
+            }
+            else
+            {
+                validateHeader(header);
+
+                highScores = new ArrayList<HighScore>((int)Math.min((channel.size() - HEADER_SIZE) / RECORD_SIZE, Integer.MAX_VALUE - 8));
+                final long RECORDS_SIZE = readRecords(channel, highScores);
+                bytesRead = HEADER_SIZE + RECORDS_SIZE;
+
+                // A record that was only partly written or failed its checksum was dropped
+                compactionNeeded = RECORDS_SIZE % RECORD_SIZE != 0 || highScores.size() != RECORDS_SIZE / RECORD_SIZE;
+            }
+
+            succeeded = true;
+        }
+        finally
+        {
+            FlightRecorderEvents.commitHighScoreIo(LOAD_EVENT, "load", FILE_PATH.toString(), bytesRead, succeeded);
+        }
+
+        if (compactionNeeded)
+        {
+            rewrite(highScores.toArray(new HighScore[0]));
+        }
+
+        return highScores;
+    }
+
+    /**
+     * Appends high scores to the end of the file, creating the file if it does not exist yet. Only the new records are written; if
+     * the write fails, the file is cut back to where it ended before so that a retry does not record the same runs twice. Writes
+     * from different threads are done one at a time.
+     *
+     * @param highScores The high scores to append, oldest first.
+     * @throws IOException If the file could not be written or was not written by this version of the store.
+     */
+    public synchronized void append(HighScore[] highScores) throws IOException
+    {
+        final Object APPEND_EVENT = FlightRecorderEvents.beginHighScoreIo();
+        long bytesWritten = 0;
+        boolean succeeded = false;
+
+        try
+        {
+            bytesWritten = appendRecords(highScores);
+            succeeded = true;
+        }
+        finally
+        {
+            FlightRecorderEvents.commitHighScoreIo(APPEND_EVENT, "append", FILE_PATH.toString(), bytesWritten, succeeded);
+        }
+    }
+
+    /**
+     * Replaces the whole file with the given high scores (ex: when the high scores are cleared or the file is compacted). The file
+     * is written to a temporary file, which then replaces the file in a single atomic rename. A crash at any point leaves either the
+     * old file or the new file, never a mix of the two.
+     *
+     * @param highScores The high scores, oldest first.
+     * @throws IOException If the file could not be written.
+     */
+    public synchronized void rewrite(HighScore[] highScores) throws IOException
+    {
+        final Object REWRITE_EVENT = FlightRecorderEvents.beginHighScoreIo();
+        long bytesWritten = 0;
+        boolean succeeded = false;
+
+        try
+        {
+            bytesWritten = writeFile(highScores);
+            succeeded = true;
+        }
+        finally
+        {
+            FlightRecorderEvents.commitHighScoreIo(REWRITE_EVENT, "rewrite", FILE_PATH.toString(), bytesWritten, succeeded);
+        }
+    }
+
+    /**
+     * Does the work of append.
+     *
+     * @param highScores The high scores to append, oldest first.
+     * @return The amount of bytes that were written to the file.
+     * @throws IOException If the file could not be written.
+     */
+    private long appendRecords(HighScore[] highScores) throws IOException
+    {
+        if (highScores.length == 0)
+        {
+            return 0;
+        }
+
+        if (FILE_PATH.getParent() != null)
+        {
+            Files.createDirectories(FILE_PATH.getParent());
+        }
+
+        ByteBuffer records = createRecords(highScores);
+        final long BYTES_WRITTEN = records.remaining();
+
+        try (FileChannel channel = FileChannel.open(FILE_PATH, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            final long FILE_SIZE = channel.size();
+            long recordsEnd;
+
+            if (FILE_SIZE < HEADER_SIZE)
+            {
+                // The file is new, or the game crashed before its header was fully written
+                ByteBuffer header = createHeader();
+                writeFully(channel, header, 0);
+                recordsEnd = HEADER_SIZE;
+            }
+            else
+            {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                readFully(channel, header, 0);
+                header.flip();
+                validateHeader(header);
+
+                recordsEnd = HEADER_SIZE + (FILE_SIZE - HEADER_SIZE) / RECORD_SIZE * RECORD_SIZE; // Writes over a record that was only partly written
+            }
+
+            try
+            {
+                writeFully(channel, records, recordsEnd);
+                channel.force(true);
+            }
+            catch (IOException ex)
+            {
+                try
+                {
+                    channel.truncate(recordsEnd);
+                }
+                catch (IOException truncateEx)
+                {
+                    ex.addSuppressed(truncateEx);
+                }
+
+                throw ex;
+            }
+        }
+
+        return BYTES_WRITTEN;
+    }
+
+    /**
+     * Does the work of rewrite.
+     *
+     * @param highScores The high scores, oldest first.
+     * @return The amount of bytes that were written to the file.
+     * @throws IOException If the file could not be written.
+     */
+    private long writeFile(HighScore[] highScores) throws IOException
+    {
+        if (FILE_PATH.getParent() != null)
+        {
+            Files.createDirectories(FILE_PATH.getParent());
+        }
+
+        ByteBuffer header = createHeader();
+        ByteBuffer records = createRecords(highScores);
+        final long BYTES_WRITTEN = header.remaining() + records.remaining();
+
+        try (FileChannel channel = FileChannel.open(TEMP_FILE_PATH, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))
+        {
+            writeFully(channel, header, 0);
+            writeFully(channel, records, HEADER_SIZE);
+            channel.force(true);
+        }
+
+        try
+        {
+            Files.move(TEMP_FILE_PATH, FILE_PATH, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (AtomicMoveNotSupportedException ex)
+        {
+            Files.move(TEMP_FILE_PATH, FILE_PATH, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        return BYTES_WRITTEN;
+    }
+
+    /**
+     * Reads the records of the file a chunk at a time. Records that fail their checksum are skipped, and so is a record at the end
+     * of the file that was only partly written.
+     *
+     * @param channel The channel of the file.
+     * @param highScores The list to add the high scores of the intact records to.
+     * @return The amount of bytes read after the header.
+     * @throws IOException If the file could not be read.
+     */
+    private long readRecords(FileChannel channel, List<HighScore> highScores) throws IOException
+    {
+        final ByteBuffer CHUNK = ByteBuffer.allocate(READ_CHUNK_RECORD_COUNT * RECORD_SIZE);
+        final byte[] CHUNK_BYTES = CHUNK.array();
+        final CRC32 CRC = new CRC32();
+
+        long position = HEADER_SIZE;
+        String previousName = null;
+
+        while (true)
+        {
+            CHUNK.clear();
+            readFully(channel, CHUNK, position);
+            CHUNK.flip();
+
+            final int CHUNK_SIZE = CHUNK.limit();
+            position += CHUNK_SIZE;
+
+            for (int offset = 0; offset + RECORD_SIZE <= CHUNK_SIZE; offset += RECORD_SIZE)
+            {
+                CRC.reset();
+                CRC.update(CHUNK_BYTES, offset, RECORD_DATA_SIZE);
+
+                if (CHUNK.getInt(offset + RECORD_DATA_SIZE) != (int)CRC.getValue())
+                {
+                    continue;
+                }
+
+                final int NAME_LENGTH = Math.max(0, Math.min(CHUNK.getShort(offset + 4), MAX_NAME_LENGTH));
+
+                // Most runs are recorded under the same name, so the name of the previous record is shared when it matches
+                if (previousName == null || !nameEquals(previousName, CHUNK, offset + 6, NAME_LENGTH))
+                {
+                    previousName = readName(CHUNK, offset + 6, NAME_LENGTH);
+                }
+
+                highScores.add(new HighScore(previousName, CHUNK.getInt(offset)));
+            }
+
+            if (CHUNK_SIZE < CHUNK.capacity())
+            {
+                return position - HEADER_SIZE;
+            }
+        }
+    }
+
+    /**
+     * Loads a file written by an older version of the store, which holds a ranked snapshot of the best high scores.
+     *
+     * @param channel The channel of the file.
+     * @return The high scores, from the worst to the best, so that they keep their ranks when they are added to a leaderboard.
+     * @throws IOException If the file could not be read or failed its checksum.
+     */
+    private List<HighScore> loadVersion1(FileChannel channel) throws IOException
+    {
+        final int VERSION_1_RECORD_SIZE = RECORD_DATA_SIZE;
+
+        ByteBuffer buffer = ByteBuffer.allocate((int)Math.min(channel.size(), HEADER_SIZE + (long)VERSION_1_MAX_RECORD_COUNT * VERSION_1_RECORD_SIZE));
+        readFully(channel, buffer, 0);
+        buffer.flip();
+
+        final int RECORD_COUNT = buffer.getShort(6) & VERSION_1_MAX_RECORD_COUNT;
+
+        if (buffer.getInt(8) != VERSION_1_RECORD_SIZE || buffer.limit() < HEADER_SIZE + RECORD_COUNT * VERSION_1_RECORD_SIZE)
+        {
+            throw new IOException("The high score file does not have the expected amount of high scores.");
+        }
+
+        ByteBuffer records = buffer.duplicate();
+        records.position(HEADER_SIZE);
+        records.limit(HEADER_SIZE + RECORD_COUNT * VERSION_1_RECORD_SIZE);
+
+        CRC32 crc = new CRC32();
+        crc.update(records);
+
+        if (buffer.getInt(12) != (int)crc.getValue())
+        {
+            throw new IOException("The high score file is corrupted (checksum mismatch).");
+        }
+
+        List<HighScore> highScores = new ArrayList<HighScore>(RECORD_COUNT);
+
+        for (int i = RECORD_COUNT - 1; i >= 0; i--)
+        {
+            final int OFFSET = HEADER_SIZE + i * VERSION_1_RECORD_SIZE;
+            final int NAME_LENGTH = Math.max(0, Math.min(buffer.getShort(OFFSET + 4), MAX_NAME_LENGTH));
+
+            highScores.add(new HighScore(readName(buffer, OFFSET + 6, NAME_LENGTH), buffer.getInt(OFFSET)));
+        }
+
+        return highScores;
+    }
+
+    /**
+     * Checks that a header was written by this version of the store for records of the same size.
+     *
+     * @param header The buffer that holds the header.
+     * @throws IOException If the header does not match.
+     */
+    private void validateHeader(ByteBuffer header) throws IOException
+    {
+        if (header.limit() < HEADER_SIZE || header.getInt(0) != MAGIC)
+        {
+            throw new IOException("The file is not a high score file.");
+        }
+
+        if (header.getShort(4) != FORMAT_VERSION)
+        {
+            throw new IOException("The high score file was written with an unsupported format version (" + header.getShort(4) + ").");
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(header.array(), 0, HEADER_CHECKSUM_OFFSET);
+
+        if (header.getInt(HEADER_CHECKSUM_OFFSET) != (int)crc.getValue())
+        {
+            throw new IOException("The header of the high score file is corrupted (checksum mismatch).");
+        }
+
+        if (header.getInt(8) != RECORD_SIZE)
+        {
+            throw new IOException("The high score file was written with a different maximum name length.");
+        }
+    }
+
+    private ByteBuffer createHeader()
+    {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(0, MAGIC);
+        header.putShort(4, (short)FORMAT_VERSION);
+        header.putShort(6, (short)0);
+        header.putInt(8, RECORD_SIZE);
+
+        CRC32 crc = new CRC32();
+        crc.update(header.array(), 0, HEADER_CHECKSUM_OFFSET);
+        header.putInt(HEADER_CHECKSUM_OFFSET, (int)crc.getValue());
+
+        return header;
+    }
+
+    /**
+     * Writes high scores as fixed-size records, each followed by its checksum. Names that are longer than the maximum name length
+     * are cut off.
+     *
+     * @param highScores The high scores to write.
+     * @return A buffer that holds the records, ready to be written.
+     */
+    private ByteBuffer createRecords(HighScore[] highScores)
+    {
+        ByteBuffer records = ByteBuffer.allocate(Math.multiplyExact(highScores.length, RECORD_SIZE));
+        CRC32 crc = new CRC32();
+
+        for (HighScore highScore : highScores)
+        {
+            final int RECORD_OFFSET = records.position();
+            final int NAME_LENGTH = Math.min(highScore.name.length(), MAX_NAME_LENGTH);
+
+            records.putInt(highScore.score);
+            records.putShort((short)NAME_LENGTH);
+
+            for (int i = 0; i < MAX_NAME_LENGTH; i++)
+            {
+                records.putChar(i < NAME_LENGTH ? highScore.name.charAt(i) : '\0');
+            }
+
+            crc.reset();
+            crc.update(records.array(), RECORD_OFFSET, RECORD_DATA_SIZE);
+            records.putInt((int)crc.getValue());
+        }
+
+        records.flip();
+
+        return records;
+    }
+
+    private String readName(ByteBuffer buffer, int offset, int nameLength)
+    {
+        char[] name = new char[nameLength];
+
+        for (int i = 0; i < nameLength; i++)
+        {
+            name[i] = buffer.getChar(offset + 2 * i);
+        }
+
+        return new String(name);
+    }
+
+    private boolean nameEquals(String name, ByteBuffer buffer, int offset, int nameLength)
+    {
+        if (name.length() != nameLength)
+        {
+            return false;
+        }
+
+        for (int i = 0; i < nameLength; i++)
+        {
+            if (name.charAt(i) != buffer.getChar(offset + 2 * i))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException
+    {
+        while (buffer.hasRemaining())
+        {
+            int bytesRead = channel.read(buffer, position + buffer.position());
+
+            if (bytesRead < 0)
+            {
+                break;
+            }
+        }
+    }
+
+    private void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException
+    {
+        while (buffer.hasRemaining())
+        {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+}
@@ -0,0 +1,210 @@
+// File Name:     HighScoreWriter.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.score;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public class HighScoreWriter
+{
+    public final int QUEUE_CAPACITY = 16;
+
+    private final String THREAD_NAME = "High Score Writer";
+    private final long POLL_TIMEOUT_MS = 100;
+
+    private final HighScoreStore store;
+    private final Consumer<IOException> saveFailureHandler;
+    private final ArrayBlockingQueue<SaveRequest> saveRequests = new ArrayBlockingQueue<SaveRequest>(QUEUE_CAPACITY);
+    private final ArrayList<SaveRequest> drainedRequests = new ArrayList<SaveRequest>(QUEUE_CAPACITY);
+    private final Thread workerThread;
+
+    private volatile boolean stopping = false;
+    private SaveRequest unsavedRequest = null; // The high scores of the last save if it failed, only used by the writer thread
+
+    /**
+     * Creates a writer that saves high scores to a store on its own thread, so the thread that asks for a save never waits on the
+     * disk. Save requests that pile up while a save is running are merged into a single write.
+     *
+     * @param store The store to save the high scores to.
+     * @param saveFailureHandler Called on the writer thread with the exception of every save that failed. The high scores of a
+     *                           failed save are written again along with the next save.
+     */
+    public HighScoreWriter(HighScoreStore store, Consumer<IOException> saveFailureHandler)
+    {
+        this.store = store;
+        this.saveFailureHandler = saveFailureHandler;
+
+        workerThread = new Thread(this::runWorker, THREAD_NAME);
+        workerThread.setDaemon(true);
+    }
+
+    /**
+     * Starts the writer thread and registers a shutdown hook that saves the high scores that are still queued when the program exits.
+     */
+    public void start()
+    {
+        workerThread.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> shutdown(TimeUnit.SECONDS.toMillis(5)), THREAD_NAME + " Shutdown Hook"));
+    }
+
+    /**
+     * Queues an append of high scores to the end of the high score file. This never blocks: if the queue is full, its oldest request
+     * is merged into the new one.
+     *
+     * @param highScores The high scores to append, oldest first. The array must not be changed after it is queued.
+     */
+    public void requestAppend(HighScore[] highScores)
+    {
+        queue(new SaveRequest(highScores, false));
+    }
+
+    /**
+     * Queues a rewrite of the whole high score file. This never blocks: if the queue is full, its oldest request is dropped since
+     * the rewrite replaces whatever it would have written.
+     *
+     * @param highScores Every high score that the file should hold, oldest first. The array must not be changed after it is queued.
+     */
+    public void requestRewrite(HighScore[] highScores)
+    {
+        queue(new SaveRequest(highScores, true));
+    }
+
+    /**
+     * Stops the writer once every queued save was written.
+     *
+     * @param timeoutMs The longest time to wait for the queued saves to be written.
+     */
+    public void shutdown(long timeoutMs)
+    {
+        stopping = true;
+
+        try
+        {
+            workerThread.join(timeoutMs);
+        }
+        catch (InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits for save requests and writes them until the writer is stopped and the queue is empty. The thread is never interrupted
+     * while it writes, since interrupting a thread that is blocked on a file channel closes the channel.
+     */
+    private void runWorker()
+    {
+        while (!stopping || !saveRequests.isEmpty())
+        {
+            try
+            {
+                SaveRequest request = saveRequests.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+
+                if (request != null)
+                {
+                    write(request);
+                }
+            }
+            catch (InterruptedException ex)
+            {
+                // Only the stopping flag ends the worker so that the queued saves are never lost
+            }
+        }
+    }
+
+    private void queue(SaveRequest request)
+    {
+        while (!saveRequests.offer(request))
+        {
+            SaveRequest oldestRequest = saveRequests.poll();
+
+            if (oldestRequest != null)
+            {
+                request = merge(oldestRequest, request);
+            }
+        }
+    }
+
+    /**
+     * Writes a save request along with every request that was queued after it and the high scores of the last save that failed, as a
+     * single rewrite or append.
+     *
+     * @param firstRequest The oldest request that has not been written yet.
+     */
+    private void write(SaveRequest firstRequest)
+    {
+        SaveRequest mergedRequest = unsavedRequest == null ? firstRequest : merge(unsavedRequest, firstRequest);
+
+        drainedRequests.clear();
+        saveRequests.drainTo(drainedRequests);
+
+        for (SaveRequest request : drainedRequests)
+        {
+            mergedRequest = merge(mergedRequest, request);
+        }
+
+        drainedRequests.clear();
+
+        try
+        {
+            if (mergedRequest.rewrite)
+            {
+                store.rewrite(mergedRequest.highScores);
+            }
+            else
+            {
+                store.append(mergedRequest.highScores);
+            }
+
+            unsavedRequest = null;
+        }
+        catch (IOException ex)
+        {
+            unsavedRequest = mergedRequest;
+
+            if (saveFailureHandler != null)
+            {
+                saveFailureHandler.accept(ex);
+            }
+        }
+    }
+
+    /**
+     * Merges two save requests into one that leaves the file the same as writing them one after the other.
+     *
+     * @param olderRequest The request that was queued first.
+     * @param newerRequest The request that was queued after it.
+     * @return The merged request.
+     */
+    private SaveRequest merge(SaveRequest olderRequest, SaveRequest newerRequest)
+    {
+        if (newerRequest.rewrite)
+        {
+            return newerRequest;
+        }
+
+        HighScore[] highScores = Arrays.copyOf(olderRequest.highScores, olderRequest.highScores.length + newerRequest.highScores.length);
+        System.arraycopy(newerRequest.highScores, 0, highScores, olderRequest.highScores.length, newerRequest.highScores.length);
+
+        return new SaveRequest(highScores, olderRequest.rewrite);
+    }
+
+    private static class SaveRequest
+    {
+        private final HighScore[] highScores;
+        private final boolean rewrite; // Whether the high scores replace the whole file or are appended to it
+
+        public SaveRequest(HighScore[] highScores, boolean rewrite)
+        {
+            this.highScores = highScores;
+            this.rewrite = rewrite;
+        }
+    }
+}
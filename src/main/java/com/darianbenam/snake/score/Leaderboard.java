@@ -0,0 +1,307 @@
+// File Name:     Leaderboard.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.score;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+public class Leaderboard
+{
+    public final int MAX_SCORE = (1 << 24) - 1;
+    private final int INITIAL_CAPACITY = 1024;
+
+    private final StampedLock lock = new StampedLock();
+
+    // One bucket per score. tree is a Fenwick tree over the amount of high scores in each bucket (1-based, bucket of a score is at
+    // index score + 1), so the amount of high scores at or below a score is found in O(log n). The names of a bucket are kept in the
+    // order they were added, so the newest one of a bucket comes first when they are listed.
+    private int[] tree = new int[INITIAL_CAPACITY + 1];
+    private ArrayList<String>[] bucketNames = createBuckets(INITIAL_CAPACITY);
+    private int size = 0;
+
+    /**
+     * Gets the amount of high scores on the leaderboard.
+     *
+     * @return The amount of high scores.
+     */
+    public int size()
+    {
+        long stamp = lock.tryOptimisticRead();
+        int currentSize = size;
+
+        if (!lock.validate(stamp))
+        {
+            stamp = lock.readLock();
+
+            try
+            {
+                currentSize = size;
+            }
+            finally
+            {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        return currentSize;
+    }
+
+    /**
+     * Adds a high score to the leaderboard. The high score is ranked ahead of the high scores that have the same score, the same way
+     * getRank ranks a new score.
+     *
+     * @param name The name of the person who achieved the high score.
+     * @param score The score, between 0 and MAX_SCORE.
+     * @return The rank of the high score, where 1 is the best.
+     * @throws IllegalArgumentException If the score is out of range.
+     */
+    public int add(String name, int score)
+    {
+        if (score < 0 || score > MAX_SCORE)
+        {
+            throw new IllegalArgumentException("Score out of range.");
+        }
+
+        long stamp = lock.writeLock();
+
+        try
+        {
+            ensureCapacity(score + 1);
+
+            if (bucketNames[score] == null)
+            {
+                bucketNames[score] = new ArrayList<String>(1);
+            }
+
+            bucketNames[score].add(name);
+            size++;
+
+            for (int i = score + 1; i < tree.length; i += i & -i)
+            {
+                tree[i]++;
+            }
+
+            return size - prefixCount(tree, score + 1) + 1;
+        }
+        finally
+        {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes every high score from the leaderboard.
+     */
+    public void clear()
+    {
+        long stamp = lock.writeLock();
+
+        try
+        {
+            tree = new int[INITIAL_CAPACITY + 1];
+            bucketNames = createBuckets(INITIAL_CAPACITY);
+            size = 0;
+        }
+        finally
+        {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Gets the rank that a score would have if it was added to the leaderboard, which is one more than the amount of high scores
+     * that are strictly higher than it. This does not block while a high score is being added; if a write happens during the
+     * query, the query is simply run again under a read lock.
+     *
+     * @param score The score to rank.
+     * @return The rank of the score, where 1 is the best.
+     */
+    public int getRank(int score)
+    {
+        long stamp = lock.tryOptimisticRead();
+        int rank = computeRank(tree, size, score);
+
+        if (!lock.validate(stamp))
+        {
+            stamp = lock.readLock();
+
+            try
+            {
+                rank = computeRank(tree, size, score);
+            }
+            finally
+            {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        return rank;
+    }
+
+    /**
+     * Gets a page of the leaderboard, from the best high score to the worst. Finding the first high score of the page takes
+     * O(log n) and every high score after it takes at most O(log n) more, so the cost of a page does not depend on how deep into
+     * the leaderboard it is.
+     *
+     * @param offset The amount of high scores to skip (0 for the first page).
+     * @param count The largest amount of high scores to return.
+     * @return Copies of the high scores of the page. The array is shorter than count if the leaderboard runs out of high scores.
+     */
+    public HighScore[] getPage(int offset, int count)
+    {
+        long stamp = lock.readLock();
+
+        try
+        {
+            final int PAGE_SIZE = Math.max(0, Math.min(count, size - offset));
+            HighScore[] page = new HighScore[PAGE_SIZE];
+
+            if (PAGE_SIZE == 0)
+            {
+                return page;
+            }
+
+            // The high score at the offset is the (size - offset)-th lowest one
+            int bucket = findKthLowest(size - offset);
+            int skip = offset - (size - prefixCount(tree, bucket + 1));
+            int filled = 0;
+
+            while (filled < PAGE_SIZE)
+            {
+                ArrayList<String> names = bucketNames[bucket];
+
+                for (int i = names.size() - 1 - skip; i >= 0 && filled < PAGE_SIZE; i--)
+                {
+                    page[filled++] = new HighScore(names.get(i), bucket);
+                }
+
+                skip = 0;
+
+                if (filled < PAGE_SIZE)
+                {
+                    bucket = findKthLowest(prefixCount(tree, bucket)); // The highest bucket below this one that is not empty
+                }
+            }
+
+            return page;
+        }
+        finally
+        {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Gets the best high scores on the leaderboard.
+     *
+     * @param count The largest amount of high scores to return.
+     * @return Copies of the best high scores, from the best to the worst.
+     */
+    public HighScore[] getTop(int count)
+    {
+        return getPage(0, count);
+    }
+
+    /**
+     * Computes the rank of a score from a snapshot of the tree. Only reads the arrays it is given, so it is safe to call while the
+     * tree is being written to (the result is then thrown away).
+     *
+     * @param fenwickTree The tree to read.
+     * @param highScoreCount The amount of high scores in the tree.
+     * @param score The score to rank.
+     * @return The rank of the score.
+     */
+    private int computeRank(int[] fenwickTree, int highScoreCount, int score)
+    {
+        final int BUCKET_INDEX = Math.max(0, Math.min(score + 1, fenwickTree.length - 1));
+
+        return highScoreCount - prefixCount(fenwickTree, BUCKET_INDEX) + 1;
+    }
+
+    /**
+     * Gets the amount of high scores in the first buckets of the tree.
+     *
+     * @param fenwickTree The tree to read.
+     * @param index The 1-based index of the last bucket to count.
+     * @return The amount of high scores in buckets 1 to index.
+     */
+    private int prefixCount(int[] fenwickTree, int index)
+    {
+        int count = 0;
+
+        for (int i = index; i > 0; i -= i & -i)
+        {
+            count += fenwickTree[i];
+        }
+
+        return count;
+    }
+
+    /**
+     * Finds the bucket that holds the k-th lowest high score by walking down the tree.
+     *
+     * @param k A number between 1 and the amount of high scores.
+     * @return The score of the bucket.
+     */
+    private int findKthLowest(int k)
+    {
+        int index = 0;
+
+        for (int step = Integer.highestOneBit(tree.length - 1); step > 0; step >>>= 1)
+        {
+            if (index + step < tree.length && tree[index + step] < k)
+            {
+                index += step;
+                k -= tree[index];
+            }
+        }
+
+        return index; // The 1-based index of the bucket is index + 1, so its score is index
+    }
+
+    /**
+     * Grows the tree (doubling its capacity) until a bucket fits in it. The tree is rebuilt from the bucket sizes in linear time.
+     *
+     * @param bucketCount The amount of buckets that are needed.
+     */
+    private void ensureCapacity(int bucketCount)
+    {
+        final int OLD_CAPACITY = tree.length - 1;
+
+        if (bucketCount <= OLD_CAPACITY)
+        {
+            return;
+        }
+
+        int capacity = OLD_CAPACITY;
+        while (capacity < bucketCount)
+        {
+            capacity *= 2;
+        }
+
+        bucketNames = Arrays.copyOf(bucketNames, capacity);
+        int[] grownTree = new int[capacity + 1];
+
+        for (int i = 1; i <= capacity; i++)
+        {
+            grownTree[i] += bucketNames[i - 1] == null ? 0 : bucketNames[i - 1].size();
+
+            int parent = i + (i & -i);
+            if (parent <= capacity)
+            {
+                grownTree[parent] += grownTree[i];
+            }
+        }
+
+        tree = grownTree;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArrayList<String>[] createBuckets(int capacity)
+    {
+        return (ArrayList<String>[])new ArrayList<?>[capacity];
+    }
+}
@@ -0,0 +1,153 @@
+// File Name:     BatchResult.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.simulation;
+
+import com.darianbenam.snake.game.SnakeGame;
+
+public class BatchResult
+{
+    private long gameCount = 0, winCount = 0, timedOutCount = 0;
+    private long totalScore = 0, totalLength = 0, totalTicks = 0;
+    private int maxScore = 0, maxLength = 0;
+    private long elapsedNs = 0;
+
+    public long getGameCount()
+    {
+        return gameCount;
+    }
+
+    public long getWinCount()
+    {
+        return winCount;
+    }
+
+    /**
+     * Gets the amount of games that were cut off because they reached the maximum amount of ticks per game before they were over.
+     *
+     * @return The amount of games that timed out.
+     */
+    public long getTimedOutCount()
+    {
+        return timedOutCount;
+    }
+
+    public long getTotalScore()
+    {
+        return totalScore;
+    }
+
+    public long getTotalTicks()
+    {
+        return totalTicks;
+    }
+
+    public int getMaxScore()
+    {
+        return maxScore;
+    }
+
+    public int getMaxLength()
+    {
+        return maxLength;
+    }
+
+    public long getElapsedNs()
+    {
+        return elapsedNs;
+    }
+
+    public double getAverageScore()
+    {
+        return gameCount == 0 ? 0 : (double)totalScore / gameCount;
+    }
+
+    public double getAverageLength()
+    {
+        return gameCount == 0 ? 0 : (double)totalLength / gameCount;
+    }
+
+    public double getAverageTicks()
+    {
+        return gameCount == 0 ? 0 : (double)totalTicks / gameCount;
+    }
+
+    public double getWinRate()
+    {
+        return gameCount == 0 ? 0 : (double)winCount / gameCount;
+    }
+
+    public double getGamesPerSecond()
+    {
+        return elapsedNs == 0 ? 0 : gameCount * 1e9 / elapsedNs;
+    }
+
+    public double getTicksPerSecond()
+    {
+        return elapsedNs == 0 ? 0 : totalTicks * 1e9 / elapsedNs;
+    }
+
+    /**
+     * Adds a game that just ended (or timed out) to the totals.
+     *
+     * @param game The game to add.
+     */
+    void addGame(SnakeGame game)
+    {
+        final int SCORE = game.getScore(), LENGTH = game.getSnake().getLength();
+
+        gameCount++;
+        totalScore += SCORE;
+        totalLength += LENGTH;
+        totalTicks += game.getTickCount();
+        maxScore = Math.max(maxScore, SCORE);
+        maxLength = Math.max(maxLength, LENGTH);
+
+        if (game.isGameWon())
+        {
+            winCount++;
+        }
+        else if (!game.isGameOver())
+        {
+            timedOutCount++;
+        }
+    }
+
+    /**
+     * Adds the totals of another result to the totals of this result.
+     *
+     * @param other The result to merge into this one.
+     */
+    void merge(BatchResult other)
+    {
+        gameCount += other.gameCount;
+        winCount += other.winCount;
+        timedOutCount += other.timedOutCount;
+        totalScore += other.totalScore;
+        totalLength += other.totalLength;
+        totalTicks += other.totalTicks;
+        maxScore = Math.max(maxScore, other.maxScore);
+        maxLength = Math.max(maxLength, other.maxLength);
+    }
+
+    void setElapsedNs(long elapsedNs)
+    {
+        this.elapsedNs = elapsedNs;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("Games: %d (%d won, %d timed out, win rate %.2f%%)%n"
+            + "Score: average %.2f, max %d%n"
+            + "Length: average %.2f, max %d%n"
+            + "Ticks: average %.2f, total %d%n"
+            + "Throughput: %.0f games/sec, %.0f ticks/sec (%.3f s)",
+            gameCount, winCount, timedOutCount, getWinRate() * 100,
+            getAverageScore(), maxScore,
+            getAverageLength(), maxLength,
+            getAverageTicks(), totalTicks,
+            getGamesPerSecond(), getTicksPerSecond(), elapsedNs / 1e9);
+    }
+}
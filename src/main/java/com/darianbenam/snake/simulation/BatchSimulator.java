@@ -0,0 +1,89 @@
+// File Name:     BatchSimulator.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.simulation;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+public class BatchSimulator
+{
+    public final boolean WALL_COLLISION;
+    public final int MAP_HEIGHT, MAP_WIDTH;
+    public final long MAX_TICKS_PER_GAME;
+    private final int LEAVES_PER_WORKER = 8;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor which creates a simulator that plays headless games on the common fork-join pool.
+     *
+     * @param mapHeight The height of the map, in cells.
+     * @param mapWidth The width of the map, in cells.
+     * @param wallCollision States whether the snake dies when it hits a wall (true) or teleports to the opposite wall (false).
+     * @param maxTicksPerGame The amount of ticks after which a game that is not over yet is cut off.
+     */
+    public BatchSimulator(int mapHeight, int mapWidth, boolean wallCollision, long maxTicksPerGame)
+    {
+        this(mapHeight, mapWidth, wallCollision, maxTicksPerGame, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor which creates a simulator that plays headless games on a specific fork-join pool.
+     *
+     * @param mapHeight The height of the map, in cells.
+     * @param mapWidth The width of the map, in cells.
+     * @param wallCollision States whether the snake dies when it hits a wall (true) or teleports to the opposite wall (false).
+     * @param maxTicksPerGame The amount of ticks after which a game that is not over yet is cut off.
+     * @param pool The pool that the games are played on.
+     */
+    public BatchSimulator(int mapHeight, int mapWidth, boolean wallCollision, long maxTicksPerGame, ForkJoinPool pool)
+    {
+        this.MAP_HEIGHT = mapHeight;
+        this.MAP_WIDTH = mapWidth;
+        this.WALL_COLLISION = wallCollision;
+        this.MAX_TICKS_PER_GAME = maxTicksPerGame;
+        this.pool = pool;
+    }
+
+    /**
+     * Plays a range of independent games and aggregates their results. The range of games is split into chunks that are played in
+     * parallel, every chunk with its own game and strategy, and the totals of the chunks are only merged once they are done. Since
+     * the game with a specific seed always plays out the same way for a deterministic strategy, running the same batch twice gives
+     * the same totals no matter how many threads are used.
+     *
+     * @param strategyFactory Creates a strategy for every chunk of games. A strategy is only used by one thread at a time.
+     * @param firstSeed The seed of the first game. The seed of every other game is one more than the game before it.
+     * @param gameCount The amount of games to play.
+     * @return The aggregated results of every game, including how long the batch took to run.
+     */
+    public BatchResult run(Supplier<? extends SnakeStrategy> strategyFactory, long firstSeed, int gameCount)
+    {
+        final int GAMES_PER_LEAF = Math.max(1, gameCount / (pool.getParallelism() * LEAVES_PER_WORKER));
+
+        long startNs = System.nanoTime();
+        BatchResult result = pool.invoke(new SimulationTask(this, strategyFactory, firstSeed, gameCount, GAMES_PER_LEAF));
+        result.setElapsedNs(System.nanoTime() - startNs);
+
+        return result;
+    }
+
+    /**
+     * Plays a batch of games with the greedy or the pathfinding strategy on the default map and prints the results.
+     *
+     * @param args The amount of games to play (default: 10000), the seed of the first game (default: 0) and the strategy to play
+     *             with, either "greedy" or "pathfinding" (default: greedy).
+     */
+    public static void main(String[] args)
+    {
+        final int GAME_COUNT = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        final long FIRST_SEED = args.length > 1 ? Long.parseLong(args[1]) : 0;
+
+        BatchSimulator simulator = new BatchSimulator(50, 75, true, 1_000_000);
+        final boolean PATHFINDING = args.length > 2 && args[2].equalsIgnoreCase("pathfinding");
+        BatchResult result = PATHFINDING ? simulator.run(PathfindingStrategy::new, FIRST_SEED, GAME_COUNT) : simulator.run(GreedyStrategy::new, FIRST_SEED, GAME_COUNT);
+
+        System.out.println(result);
+    }
+}
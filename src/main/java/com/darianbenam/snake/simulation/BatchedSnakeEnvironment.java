@@ -0,0 +1,421 @@
+// File Name:     BatchedSnakeEnvironment.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.simulation;
+
+import com.darianbenam.snake.game.Direction;
+import com.darianbenam.snake.game.GameRandom;
+import com.darianbenam.snake.game.SnakeGame;
+import java.util.Arrays;
+
+public class BatchedSnakeEnvironment
+{
+    public final boolean WALL_COLLISION;
+    public final int GAME_COUNT, MAP_HEIGHT, MAP_WIDTH;
+    private final int CELL_COUNT, BODY_CAPACITY, OCCUPIED_WORDS;
+
+    // Offsets of every direction, indexed by Direction.ordinal()
+    private final int[] DIRECTION_DX = { 0, -1, 1, 0 }, DIRECTION_DY = { 1, 0, 0, -1 };
+    private final int[] OPPOSITE_DIRECTIONS = { Direction.Up.ordinal(), Direction.Right.ordinal(), Direction.Left.ordinal(), Direction.Down.ordinal() };
+    private final Direction[] DIRECTIONS = Direction.values();
+
+    // Every game owns a slice of the large arrays below, the slice of game g starts at g * BODY_CAPACITY (bodyCells), g *
+    // CELL_COUNT (freeCells, cellPositions) or g * OCCUPIED_WORDS (occupiedCells). Each slice works exactly like the matching
+    // structure of a single game: bodyCells is the circular buffer of Snake, occupiedCells is its occupancy bitset and freeCells
+    // and cellPositions are its FreeCellIndex.
+    private final int[] bodyCells, freeCells, cellPositions;
+    private final long[] occupiedCells;
+
+    // One entry per game
+    private final int[] headIndices, lengths, tailLastCells, foodCells, freeCounts, scores;
+    private final long[] randomStates, seeds, tickCounts;
+    private final byte[] snakeDirections;
+    private final boolean[] gameOvers, gameWons;
+
+    /**
+     * Constructor which creates a batch of games that are stored in struct-of-arrays form, so that all of them can be stepped in a
+     * single loop over a few large primitive arrays instead of going through one SnakeGame object (and its Snake and FreeCellIndex)
+     * per game. A game in the batch follows the exact same rules as SnakeGame, so a game in the batch and a SnakeGame with the same
+     * seed that are given the same directions play out exactly the same way.
+     *
+     * @param gameCount The amount of games in the batch.
+     * @param mapHeight The height of the map of every game, in cells.
+     * @param mapWidth The width of the map of every game, in cells.
+     * @param wallCollision States whether the snake dies when it hits a wall (true) or teleports to the opposite wall (false).
+     * @param firstSeed The seed of the first game. The seed of every other game is one more than the game before it.
+     * @throws IllegalArgumentException If the map is too small to hold the snake, or if the game count is negative or so large for
+     *                                  the size of the map that the arrays of the batch could not be indexed with an int.
+     */
+    public BatchedSnakeEnvironment(int gameCount, int mapHeight, int mapWidth, boolean wallCollision, long firstSeed)
+    {
+        if (mapWidth <= SnakeGame.SNAKE_START_X || mapHeight <= SnakeGame.SNAKE_START_Y)
+        {
+            throw new IllegalArgumentException("The map is too small to hold the snake.");
+        }
+
+        if (gameCount < 0)
+        {
+            throw new IllegalArgumentException("gameCount can not be negative (" + gameCount + ").");
+        }
+
+        this.GAME_COUNT = gameCount;
+        this.MAP_HEIGHT = mapHeight;
+        this.MAP_WIDTH = mapWidth;
+        this.WALL_COLLISION = wallCollision;
+
+        // The body capacity is the cell count rounded up to a power of two, which has to fit in an int as well
+        if ((long)mapHeight * mapWidth > 1 << 30)
+        {
+            throw new IllegalArgumentException("The map is too large (" + mapWidth + "x" + mapHeight + ").");
+        }
+
+        this.CELL_COUNT = mapHeight * mapWidth;
+        this.BODY_CAPACITY = Integer.highestOneBit(CELL_COUNT - 1) << 1; // The snake can never be longer than the map
+        this.OCCUPIED_WORDS = (CELL_COUNT + 63) >>> 6;
+
+        final int BODY_CELL_COUNT, MAP_CELL_COUNT;
+
+        try
+        {
+            BODY_CELL_COUNT = Math.multiplyExact(gameCount, BODY_CAPACITY);
+            MAP_CELL_COUNT = Math.multiplyExact(gameCount, CELL_COUNT);
+        }
+        catch (ArithmeticException ex)
+        {
+            throw new IllegalArgumentException("gameCount (" + gameCount + ") is too large for a " + mapWidth + "x" + mapHeight + " map, the games would not fit in an array.", ex);
+        }
+
+        bodyCells = new int[BODY_CELL_COUNT];
+        freeCells = new int[MAP_CELL_COUNT];
+        cellPositions = new int[MAP_CELL_COUNT];
+        occupiedCells = new long[gameCount * OCCUPIED_WORDS]; // Never more than MAP_CELL_COUNT
+
+        headIndices = new int[gameCount];
+        lengths = new int[gameCount];
+        tailLastCells = new int[gameCount];
+        foodCells = new int[gameCount];
+        freeCounts = new int[gameCount];
+        scores = new int[gameCount];
+        randomStates = new long[gameCount];
+        seeds = new long[gameCount];
+        tickCounts = new long[gameCount];
+        snakeDirections = new byte[gameCount];
+        gameOvers = new boolean[gameCount];
+        gameWons = new boolean[gameCount];
+
+        for (int game = 0; game < gameCount; game++)
+        {
+            reset(game, firstSeed + game);
+        }
+    }
+
+    public int getBodyCell(int game, int index)
+    {
+        return bodyCells[game * BODY_CAPACITY + ((headIndices[game] + index) & (BODY_CAPACITY - 1))];
+    }
+
+    public int getFoodCell(int game)
+    {
+        return foodCells[game];
+    }
+
+    public int getHeadCell(int game)
+    {
+        return bodyCells[game * BODY_CAPACITY + headIndices[game]];
+    }
+
+    public int getLength(int game)
+    {
+        return lengths[game];
+    }
+
+    public int getScore(int game)
+    {
+        return scores[game];
+    }
+
+    public long getSeed(int game)
+    {
+        return seeds[game];
+    }
+
+    public Direction getSnakeDirection(int game)
+    {
+        return DIRECTIONS[snakeDirections[game]];
+    }
+
+    public long getTickCount(int game)
+    {
+        return tickCounts[game];
+    }
+
+    public boolean isBodyPartAt(int game, int cell)
+    {
+        return (occupiedCells[game * OCCUPIED_WORDS + (cell >>> 6)] & (1L << cell)) != 0;
+    }
+
+    /**
+     * States whether a game has ended. A game ends when the snake collides with something or when the player wins.
+     *
+     * @param game The index of the game.
+     * @return True if the game is over, if not, false.
+     */
+    public boolean isGameOver(int game)
+    {
+        return gameOvers[game];
+    }
+
+    public boolean isGameWon(int game)
+    {
+        return gameWons[game];
+    }
+
+    /**
+     * Resets a game of the batch to its initial state, the same way SnakeGame.reset(long) does.
+     *
+     * @param game The index of the game.
+     * @param seed The seed of the random number generator of the new game.
+     */
+    public void reset(int game, long seed)
+    {
+        final int CELL_BASE = game * CELL_COUNT;
+
+        for (int i = 0; i < CELL_COUNT; i++)
+        {
+            freeCells[CELL_BASE + i] = i;
+            cellPositions[CELL_BASE + i] = i;
+        }
+
+        Arrays.fill(occupiedCells, game * OCCUPIED_WORDS, (game + 1) * OCCUPIED_WORDS, 0);
+        freeCounts[game] = CELL_COUNT;
+
+        seeds[game] = seed;
+        randomStates[game] = seed;
+        headIndices[game] = 0;
+        lengths[game] = 0;
+        scores[game] = 0;
+        tickCounts[game] = 0;
+        snakeDirections[game] = (byte)SnakeGame.INITIAL_SNAKE_DIR.ordinal();
+        gameOvers[game] = false;
+        gameWons[game] = false;
+
+        // The snake starts with a length of three going left from its head, just like in SnakeGame
+        for (int i = 0; i < 3; i++)
+        {
+            int bodyCell = SnakeGame.SNAKE_START_Y * MAP_WIDTH + SnakeGame.SNAKE_START_X - i;
+
+            bodyCells[game * BODY_CAPACITY + lengths[game]] = bodyCell;
+            lengths[game]++;
+            setOccupied(game, bodyCell, true);
+            tailLastCells[game] = bodyCell;
+        }
+
+        generateFood(game);
+    }
+
+    /**
+     * Advances every game that is not over by one tick. This is the same as calling SnakeGame.step for each of those games, but
+     * all of the games are stepped in one loop over primitive arrays.
+     *
+     * @param directions The direction the snake of each game should move in, indexed by game. Directions that are the opposite of
+     *                   where a snake is currently heading are ignored, just like in SnakeGame.
+     * @return The amount of games that are not over after the tick.
+     */
+    public int step(Direction[] directions)
+    {
+        final int BODY_MASK = BODY_CAPACITY - 1;
+        int runningCount = 0;
+
+        for (int game = 0; game < GAME_COUNT; game++)
+        {
+            if (gameOvers[game])
+            {
+                continue;
+            }
+
+            int dir = directions[game].ordinal();
+            if (dir != OPPOSITE_DIRECTIONS[snakeDirections[game]])
+            {
+                snakeDirections[game] = (byte)dir;
+            }
+            else
+            {
+                dir = snakeDirections[game];
+            }
+
+            tickCounts[game]++;
+
+            final int BODY_BASE = game * BODY_CAPACITY;
+            final int HEAD_INDEX = headIndices[game];
+            final int HEAD_CELL = bodyCells[BODY_BASE + HEAD_INDEX];
+            final int TAIL_CELL = bodyCells[BODY_BASE + ((HEAD_INDEX + lengths[game] - 1) & BODY_MASK)];
+
+            tailLastCells[game] = TAIL_CELL;
+
+            // Same as Snake.getNextCell, going past a wall either ends the game or teleports the head to the opposite wall
+            int x = HEAD_CELL % MAP_WIDTH + DIRECTION_DX[dir];
+            int y = HEAD_CELL / MAP_WIDTH + DIRECTION_DY[dir];
+
+            if (x < 0 || y < 0 || x >= MAP_WIDTH || y >= MAP_HEIGHT)
+            {
+                if (WALL_COLLISION)
+                {
+                    gameOvers[game] = true;
+
+                    continue;
+                }
+
+                x = (x + MAP_WIDTH) % MAP_WIDTH;
+                y = (y + MAP_HEIGHT) % MAP_HEIGHT;
+            }
+
+            final int NEW_HEAD_CELL = y * MAP_WIDTH + x;
+
+            // Same as Snake.willCollideWithBody, the head is allowed to move into the cell that the tail is leaving
+            if (isBodyPartAt(game, NEW_HEAD_CELL) && NEW_HEAD_CELL != TAIL_CELL && NEW_HEAD_CELL != HEAD_CELL)
+            {
+                gameOvers[game] = true;
+
+                continue;
+            }
+
+            setOccupied(game, TAIL_CELL, false);
+
+            headIndices[game] = (HEAD_INDEX - 1) & BODY_MASK;
+            bodyCells[BODY_BASE + headIndices[game]] = NEW_HEAD_CELL;
+            setOccupied(game, NEW_HEAD_CELL, true);
+
+            if (NEW_HEAD_CELL == foodCells[game])
+            {
+                scores[game] += SnakeGame.FOOD_POINTS_WORTH;
+
+                // Take back the tail that was just released, same as Snake.grow
+                lengths[game]++;
+                setOccupied(game, TAIL_CELL, true);
+
+                generateFood(game);
+            }
+
+            if (!gameOvers[game])
+            {
+                runningCount++;
+            }
+        }
+
+        return runningCount;
+    }
+
+    /**
+     * Generates a food at a random cell where the snake body is not present, the same way SnakeGame.generateFood does. If there is
+     * no cell left, the game is won.
+     *
+     * @param game The index of the game.
+     */
+    private void generateFood(int game)
+    {
+        final int FREE_CELL_COUNT = freeCounts[game];
+
+        if (FREE_CELL_COUNT == 0) // Snake has filled up the entire map
+        {
+            gameOvers[game] = true;
+            gameWons[game] = true;
+        }
+        else // Snake has not filled up the entire map
+        {
+            foodCells[game] = freeCells[game * CELL_COUNT + nextRandomInt(game, FREE_CELL_COUNT)];
+        }
+    }
+
+    /**
+     * Sets or clears the occupied bit of a cell and updates the free cell index of a game, the same way Snake.setOccupied does.
+     *
+     * @param game The index of the game.
+     * @param cell The cell to update (y * MAP_WIDTH + x).
+     * @param occupied True if the cell should be marked as occupied, false if it should be marked as empty.
+     */
+    private void setOccupied(int game, int cell, boolean occupied)
+    {
+        final int CELL_BASE = game * CELL_COUNT;
+        final int WORD_INDEX = game * OCCUPIED_WORDS + (cell >>> 6);
+        final int POSITION = cellPositions[CELL_BASE + cell];
+        final boolean FREE = POSITION < freeCounts[game];
+
+        if (occupied)
+        {
+            occupiedCells[WORD_INDEX] |= 1L << cell;
+
+            if (FREE)
+            {
+                freeCounts[game]--;
+                swapCells(CELL_BASE, POSITION, freeCounts[game]);
+            }
+        }
+        else
+        {
+            occupiedCells[WORD_INDEX] &= ~(1L << cell);
+
+            if (!FREE)
+            {
+                swapCells(CELL_BASE, POSITION, freeCounts[game]);
+                freeCounts[game]++;
+            }
+        }
+    }
+
+    /**
+     * Swaps two cells of the free cell index of a game, the same way FreeCellIndex.swap does.
+     *
+     * @param cellBase The start of the slice of the game in freeCells and cellPositions.
+     * @param firstPosition The position of the first cell.
+     * @param secondPosition The position of the second cell.
+     */
+    private void swapCells(int cellBase, int firstPosition, int secondPosition)
+    {
+        int firstCell = freeCells[cellBase + firstPosition];
+        int secondCell = freeCells[cellBase + secondPosition];
+
+        freeCells[cellBase + firstPosition] = secondCell;
+        freeCells[cellBase + secondPosition] = firstCell;
+        cellPositions[cellBase + secondCell] = firstPosition;
+        cellPositions[cellBase + firstCell] = secondPosition;
+    }
+
+    /**
+     * Gets a random number from the random number generator of a game. This is the algorithm of GameRandom.nextInt(int) working
+     * on a state that is stored in an array, so a game of the batch places its food exactly where a SnakeGame with the same seed
+     * would.
+     *
+     * @param game The index of the game.
+     * @param bound The upper bound (exclusive) of the random number.
+     * @return A random number between 0 and bound - 1.
+     */
+    private int nextRandomInt(int game, int bound)
+    {
+        int r = nextRandomBits(game);
+        int m = bound - 1;
+
+        if ((bound & m) == 0) // Bound is a power of two
+        {
+            return r & m;
+        }
+
+        for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = nextRandomBits(game) >>> 1)
+        {
+            // Reject the numbers that would make the result biased
+        }
+
+        return r;
+    }
+
+    /**
+     * Advances the random number generator of a game and gets 32 random bits from it.
+     *
+     * @param game The index of the game.
+     * @return 32 random bits.
+     */
+    private int nextRandomBits(int game)
+    {
+        return GameRandom.mix32(randomStates[game] += GameRandom.GOLDEN_GAMMA);
+    }
+}
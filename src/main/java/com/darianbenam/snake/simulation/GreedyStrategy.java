@@ -0,0 +1,55 @@
+// File Name:     GreedyStrategy.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.simulation;
+
+import com.darianbenam.snake.game.Direction;
+import com.darianbenam.snake.game.Snake;
+import com.darianbenam.snake.game.SnakeGame;
+
+public class GreedyStrategy implements SnakeStrategy
+{
+    private final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * Picks the direction that brings the snake head closest to the food without running into a wall or into the snake body on the
+     * next tick. If every direction is deadly, the snake keeps going in its current direction.
+     *
+     * @param game The game that is about to be stepped.
+     * @return The direction the snake should move in during the next tick.
+     */
+    @Override
+    public Direction chooseDirection(SnakeGame game)
+    {
+        final Snake SNAKE = game.getSnake();
+        final int MAP_WIDTH = game.MAP_WIDTH;
+        final int FOOD_X = game.getFoodCell() % MAP_WIDTH, FOOD_Y = game.getFoodCell() / MAP_WIDTH;
+
+        Direction bestDir = game.getSnakeDirection();
+        int bestDistance = Integer.MAX_VALUE;
+
+        for (Direction dir : DIRECTIONS)
+        {
+            if (dir == game.getSnakeDirection().getOpposite())
+            {
+                continue;
+            }
+
+            int nextCell = SNAKE.getNextCell(SNAKE.getHeadCell(), dir);
+            if (nextCell == Snake.OUT_OF_BOUNDS || SNAKE.willCollideWithBody(nextCell))
+            {
+                continue;
+            }
+
+            int distance = Math.abs(nextCell % MAP_WIDTH - FOOD_X) + Math.abs(nextCell / MAP_WIDTH - FOOD_Y);
+            if (distance < bestDistance)
+            {
+                bestDir = dir;
+                bestDistance = distance;
+            }
+        }
+
+        return bestDir;
+    }
+}
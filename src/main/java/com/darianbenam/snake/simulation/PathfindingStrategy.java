@@ -0,0 +1,362 @@
+// File Name:     PathfindingStrategy.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.simulation;
+
+import com.darianbenam.snake.game.Direction;
+import com.darianbenam.snake.game.Snake;
+import com.darianbenam.snake.game.SnakeGame;
+import java.util.Arrays;
+
+public class PathfindingStrategy implements SnakeStrategy
+{
+    private final Direction[] DIRECTIONS = Direction.values();
+
+    // Every array has one slot per map cell and is only allocated again if the map gets bigger. A slot is only valid if its stamp is
+    // the stamp of the current search (or of the current tick for the body), so nothing has to be cleared between two searches.
+    private int[] bodyStamps = new int[0], cellsUntilFree = new int[0];
+    private int[] visitStamps = new int[0], distances = new int[0], parents = new int[0], queue = new int[0];
+    private int[] bucketStamps = new int[0], bucketHeads = new int[0], nextInBucket = new int[0]; // The open set of A*, one bucket per cost
+    private int bodyStamp = 0, visitStamp = 0;
+    private int lastSearchCellCount = 0;
+    private int mapHeight, mapWidth;
+    private boolean wallCollision;
+
+    /**
+     * Finds a short path from the snake head to the food with an A* search and takes its first step. The body of the snake is not
+     * treated as a set of walls: a body part moves out of its cell after as many ticks as it is away from the tail, so the path is
+     * allowed to go through the cell of a body part that will be gone by the time the head gets there. If the food can not be
+     * reached, the snake goes in the direction from which a breadth-first search reaches the most cells, which keeps it alive for as
+     * long as possible until a path opens up. Nothing is allocated while planning, unless the map is bigger than every map seen
+     * before.
+     *
+     * @param game The game that is about to be stepped.
+     * @return The direction the snake should move in during the next tick.
+     */
+    @Override
+    public Direction chooseDirection(SnakeGame game)
+    {
+        final Snake SNAKE = game.getSnake();
+        final int HEAD_CELL = SNAKE.getHeadCell();
+
+        mapHeight = game.MAP_HEIGHT;
+        mapWidth = game.MAP_WIDTH;
+        wallCollision = game.WALL_COLLISION;
+
+        ensureCapacity(mapHeight * mapWidth);
+        markBody(SNAKE);
+
+        int pathCell = findPath(HEAD_CELL, game.getFoodCell());
+
+        if (pathCell >= 0)
+        {
+            // Walk the path back from the food to the cell right after the head
+            while (parents[pathCell] != HEAD_CELL)
+            {
+                pathCell = parents[pathCell];
+            }
+
+            return getDirectionTo(SNAKE, HEAD_CELL, pathCell);
+        }
+
+        Direction bestDir = game.getSnakeDirection();
+        int bestCellCount = -1;
+
+        for (Direction dir : DIRECTIONS)
+        {
+            final int NEXT_CELL = SNAKE.getNextCell(HEAD_CELL, dir);
+
+            if (dir == game.getSnakeDirection().getOpposite() || !isPassable(NEXT_CELL, 1))
+            {
+                continue;
+            }
+
+            countReachableCells(NEXT_CELL, 1);
+
+            if (lastSearchCellCount > bestCellCount)
+            {
+                bestDir = dir;
+                bestCellCount = lastSearchCellCount;
+            }
+        }
+
+        return bestDir;
+    }
+
+    /**
+     * Gets how many cells the last search visited. For the search of the cells that can be reached, this is every one of them.
+     *
+     * @return The amount of cells that were visited.
+     */
+    public int getLastSearchCellCount()
+    {
+        return lastSearchCellCount;
+    }
+
+    /**
+     * Runs an A* search from the head to a target cell. The cost of a cell is the amount of ticks it takes to get there plus its
+     * Manhattan distance to the target (through the walls if there is no wall collision), which never goes down along a path, so
+     * the open set is a list of cells for every cost and the search only ever moves on to higher costs. A cell is closed as soon as
+     * it is reached and is never reached again with a lower amount of ticks, which keeps the path valid since whether a cell can be
+     * entered depends on when the head gets there. The path can be a few cells longer than the shortest one because of that.
+     *
+     * @param startCell The cell of the head.
+     * @param targetCell The cell to find a path to.
+     * @return The target cell if it was reached, if not, -1.
+     */
+    private int findPath(int startCell, int targetCell)
+    {
+        nextVisitStamp();
+
+        final int TARGET_X = targetCell % mapWidth, TARGET_Y = targetCell / mapWidth;
+
+        lastSearchCellCount = 0;
+
+        int openCellCount = 0;
+        int cost = getHeuristic(startCell, TARGET_X, TARGET_Y);
+
+        markVisited(startCell, -1, 0);
+        addToBucket(startCell, cost);
+        openCellCount++;
+
+        while (openCellCount > 0)
+        {
+            while (bucketStamps[cost] != visitStamp || bucketHeads[cost] < 0)
+            {
+                cost++;
+            }
+
+            final int CELL = bucketHeads[cost];
+            bucketHeads[cost] = nextInBucket[CELL];
+            openCellCount--;
+            lastSearchCellCount++;
+
+            if (CELL == targetCell)
+            {
+                return CELL;
+            }
+
+            final int NEXT_DISTANCE = distances[CELL] + 1;
+            final int X = CELL % mapWidth, Y = CELL / mapWidth;
+
+            for (int i = 0; i < 4; i++)
+            {
+                final int NEXT_CELL = getNeighbourCell(CELL, X, Y, i);
+
+                if (isPassable(NEXT_CELL, NEXT_DISTANCE) && visitStamps[NEXT_CELL] != visitStamp)
+                {
+                    markVisited(NEXT_CELL, CELL, NEXT_DISTANCE);
+                    addToBucket(NEXT_CELL, NEXT_DISTANCE + getHeuristic(NEXT_CELL, TARGET_X, TARGET_Y));
+                    openCellCount++;
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Runs a breadth-first search that visits every cell that the head can reach from a starting cell.
+     *
+     * @param startCell The cell to start from.
+     * @param startDistance How many ticks it takes for the head to get to the start cell.
+     * @return The amount of cells that can be reached, including the start cell.
+     */
+    private int countReachableCells(int startCell, int startDistance)
+    {
+        nextVisitStamp();
+
+        int queueHead = 0, queueTail = 0;
+
+        markVisited(startCell, -1, startDistance);
+        queue[queueTail++] = startCell;
+
+        while (queueHead < queueTail)
+        {
+            final int CELL = queue[queueHead++];
+            final int NEXT_DISTANCE = distances[CELL] + 1;
+            final int X = CELL % mapWidth, Y = CELL / mapWidth;
+
+            for (int i = 0; i < 4; i++)
+            {
+                final int NEXT_CELL = getNeighbourCell(CELL, X, Y, i);
+
+                if (isPassable(NEXT_CELL, NEXT_DISTANCE) && visitStamps[NEXT_CELL] != visitStamp)
+                {
+                    markVisited(NEXT_CELL, CELL, NEXT_DISTANCE);
+                    queue[queueTail++] = NEXT_CELL;
+                }
+            }
+        }
+
+        lastSearchCellCount = queueTail;
+
+        return queueTail;
+    }
+
+    /**
+     * Gets one of the four cells next to a cell. This works the neighbours out from the coordinates of the cell, which are only
+     * computed once per cell, instead of going through Snake.getNextCell.
+     *
+     * @param cell The packed cell (y * mapWidth + x).
+     * @param x The column of the cell.
+     * @param y The row of the cell.
+     * @param side 0 for the left neighbour, 1 for the right one, 2 for the one above and 3 for the one below.
+     * @return The packed neighbour cell, or OUT_OF_BOUNDS if it is past a wall and there is wall collision.
+     */
+    private int getNeighbourCell(int cell, int x, int y, int side)
+    {
+        switch (side)
+        {
+            case 0:
+                return x > 0 ? cell - 1 : wallCollision ? Snake.OUT_OF_BOUNDS : cell + mapWidth - 1;
+            case 1:
+                return x < mapWidth - 1 ? cell + 1 : wallCollision ? Snake.OUT_OF_BOUNDS : cell - mapWidth + 1;
+            case 2:
+                return y > 0 ? cell - mapWidth : wallCollision ? Snake.OUT_OF_BOUNDS : cell + (mapHeight - 1) * mapWidth;
+            default:
+                return y < mapHeight - 1 ? cell + mapWidth : wallCollision ? Snake.OUT_OF_BOUNDS : x;
+        }
+    }
+
+    /**
+     * Gets the Manhattan distance from a cell to the target of the search, going through the walls if there is no wall collision.
+     *
+     * @param cell The packed cell (y * mapWidth + x).
+     * @param targetX The column of the target.
+     * @param targetY The row of the target.
+     * @return The least amount of ticks it could take to get from the cell to the target.
+     */
+    private int getHeuristic(int cell, int targetX, int targetY)
+    {
+        int dx = Math.abs(cell % mapWidth - targetX), dy = Math.abs(cell / mapWidth - targetY);
+
+        if (!wallCollision)
+        {
+            dx = Math.min(dx, mapWidth - dx);
+            dy = Math.min(dy, mapHeight - dy);
+        }
+
+        return dx + dy;
+    }
+
+    private void markVisited(int cell, int parentCell, int distance)
+    {
+        visitStamps[cell] = visitStamp;
+        distances[cell] = distance;
+        parents[cell] = parentCell;
+    }
+
+    /**
+     * Adds a cell to the open set of A*. The cells of a bucket are taken out in the reverse order that they were added in, which
+     * favours the cells that are furthest along a path when several cells have the same cost.
+     *
+     * @param cell The packed cell to add.
+     * @param cost The amount of ticks to get to the cell plus its distance to the target.
+     */
+    private void addToBucket(int cell, int cost)
+    {
+        if (bucketStamps[cost] != visitStamp)
+        {
+            bucketStamps[cost] = visitStamp;
+            bucketHeads[cost] = -1;
+        }
+
+        nextInBucket[cell] = bucketHeads[cost];
+        bucketHeads[cost] = cell;
+    }
+
+    /**
+     * States whether the head can enter a cell after a specific amount of ticks.
+     *
+     * @param cell The cell to enter, or OUT_OF_BOUNDS.
+     * @param ticks The amount of ticks after which the head enters the cell.
+     * @return True if the cell is on the map and holds no body part by then, if not, false.
+     */
+    private boolean isPassable(int cell, int ticks)
+    {
+        return cell != Snake.OUT_OF_BOUNDS && (bodyStamps[cell] != bodyStamp || cellsUntilFree[cell] <= ticks);
+    }
+
+    /**
+     * Records after how many ticks every body part leaves its cell. The tail leaves its cell on the next tick and the head leaves
+     * its cell after as many ticks as the snake is long.
+     *
+     * @param snake The snake to record the body of.
+     */
+    private void markBody(Snake snake)
+    {
+        if (++bodyStamp == 0) // The stamps wrapped around, so old stamps could look current
+        {
+            Arrays.fill(bodyStamps, 0);
+            bodyStamp = 1;
+        }
+
+        final int LENGTH = snake.getLength();
+
+        for (int i = 0; i < LENGTH; i++)
+        {
+            final int CELL = snake.getBodyCell(i);
+
+            bodyStamps[CELL] = bodyStamp;
+            cellsUntilFree[CELL] = LENGTH - i;
+        }
+    }
+
+    private void nextVisitStamp()
+    {
+        if (++visitStamp == 0)
+        {
+            Arrays.fill(visitStamps, 0);
+            Arrays.fill(bucketStamps, 0);
+            visitStamp = 1;
+        }
+    }
+
+    /**
+     * Gets the direction that leads from a cell to one of its neighbours.
+     *
+     * @param snake The snake whose map the cells are on.
+     * @param cell The cell to start from.
+     * @param neighbourCell A cell next to the start cell (through a wall if there is no wall collision).
+     * @return The direction that leads to the neighbour cell.
+     */
+    private Direction getDirectionTo(Snake snake, int cell, int neighbourCell)
+    {
+        for (Direction dir : DIRECTIONS)
+        {
+            if (snake.getNextCell(cell, dir) == neighbourCell)
+            {
+                return dir;
+            }
+        }
+
+        throw new IllegalArgumentException("The cells are not next to each other.");
+    }
+
+    /**
+     * Makes sure that every array has a slot for every cell of the map.
+     *
+     * @param cellCount The amount of cells on the map.
+     */
+    private void ensureCapacity(int cellCount)
+    {
+        if (visitStamps.length >= cellCount)
+        {
+            return;
+        }
+
+        bodyStamps = new int[cellCount];
+        cellsUntilFree = new int[cellCount];
+        visitStamps = new int[cellCount];
+        distances = new int[cellCount];
+        parents = new int[cellCount];
+        queue = new int[cellCount];
+        bucketStamps = new int[cellCount * 2 + 1]; // The cost of a cell is at most the amount of cells plus the distance across the map
+        bucketHeads = new int[cellCount * 2 + 1];
+        nextInBucket = new int[cellCount];
+        bodyStamp = 0;
+        visitStamp = 0;
+    }
+}
@@ -0,0 +1,75 @@
+// File Name:     SimulationTask.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.simulation;
+
+import com.darianbenam.snake.game.SnakeGame;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+class SimulationTask extends RecursiveTask<BatchResult>
+{
+    private static final long serialVersionUID = 1L;
+
+    private final BatchSimulator SIMULATOR;
+    private final Supplier<? extends SnakeStrategy> STRATEGY_FACTORY;
+    private final long FIRST_SEED;
+    private final int GAME_COUNT, GAMES_PER_LEAF;
+
+    /**
+     * Creates a task that plays a range of games. Ranges that are larger than gamesPerLeaf are split in half, so the games are
+     * spread over every worker of the fork-join pool.
+     *
+     * @param simulator The simulator that holds the map settings.
+     * @param strategyFactory Creates the strategy that is used by a leaf task.
+     * @param firstSeed The seed of the first game of the range. The seed of every other game is one more than the game before it.
+     * @param gameCount The amount of games in the range.
+     * @param gamesPerLeaf The largest amount of games that a task plays without splitting.
+     */
+    SimulationTask(BatchSimulator simulator, Supplier<? extends SnakeStrategy> strategyFactory, long firstSeed, int gameCount, int gamesPerLeaf)
+    {
+        this.SIMULATOR = simulator;
+        this.STRATEGY_FACTORY = strategyFactory;
+        this.FIRST_SEED = firstSeed;
+        this.GAME_COUNT = gameCount;
+        this.GAMES_PER_LEAF = gamesPerLeaf;
+    }
+
+    @Override
+    protected BatchResult compute()
+    {
+        if (GAME_COUNT > GAMES_PER_LEAF)
+        {
+            final int FIRST_HALF_COUNT = GAME_COUNT / 2;
+
+            SimulationTask firstHalf = new SimulationTask(SIMULATOR, STRATEGY_FACTORY, FIRST_SEED, FIRST_HALF_COUNT, GAMES_PER_LEAF);
+            SimulationTask secondHalf = new SimulationTask(SIMULATOR, STRATEGY_FACTORY, FIRST_SEED + FIRST_HALF_COUNT, GAME_COUNT - FIRST_HALF_COUNT, GAMES_PER_LEAF);
+
+            firstHalf.fork();
+            BatchResult result = secondHalf.compute();
+            result.merge(firstHalf.join());
+
+            return result;
+        }
+
+        // Every leaf has its own game, strategy and totals, so the workers never share any mutable state until the results are merged
+        BatchResult result = new BatchResult();
+        SnakeStrategy strategy = STRATEGY_FACTORY.get();
+        SnakeGame game = new SnakeGame(SIMULATOR.MAP_HEIGHT, SIMULATOR.MAP_WIDTH, SIMULATOR.WALL_COLLISION, FIRST_SEED);
+
+        for (int i = 0; i < GAME_COUNT; i++)
+        {
+            game.reset(FIRST_SEED + i);
+
+            while (!game.isGameOver() && game.getTickCount() < SIMULATOR.MAX_TICKS_PER_GAME)
+            {
+                game.step(strategy.chooseDirection(game));
+            }
+
+            result.addGame(game);
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,20 @@
+// File Name:     SnakeStrategy.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.simulation;
+
+import com.darianbenam.snake.game.Direction;
+import com.darianbenam.snake.game.SnakeGame;
+
+public interface SnakeStrategy
+{
+    /**
+     * Occurs before every tick of a game to decide where the snake should go. A strategy instance is only ever used by one thread
+     * at a time, so it can keep state between calls (ex: preallocated buffers).
+     *
+     * @param game The game that is about to be stepped.
+     * @return The direction the snake should move in during the next tick.
+     */
+    Direction chooseDirection(SnakeGame game);
+}
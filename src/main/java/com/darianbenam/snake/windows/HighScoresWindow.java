@@ -8,7 +8,6 @@ import java.awt.BorderLayout;
 import java.awt.FlowLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.io.IOException;
 import java.awt.Font;
 import java.awt.GridLayout;
 import javax.swing.JButton;
@@ -61,14 +60,7 @@ public class HighScoresWindow extends JDialog
                     highScoreMngr.clearHighScoresLeaderboard();
                     updateHighScoreRows();
 
-                    try
-                    {
-                        highScoreMngr.saveHighScores();
-                    }
-                    catch (IOException ex)
-                    {
-                        JOptionPane.showMessageDialog(null, "An error occured while trying to save the high score file (" + highScoreMngr.HIGH_SCORE_FILE_PATH + ").\n\nError Message: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-                    }
+                    highScoreMngr.saveHighScoresInBackground();
                 }
             }
         }
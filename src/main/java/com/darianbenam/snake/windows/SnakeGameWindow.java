@@ -6,37 +6,53 @@ package com.darianbenam.snake.windows;
 
 import com.darianbenam.snake.adapter.MenuAdapter;
 import com.darianbenam.snake.game.Direction;
+import com.darianbenam.snake.game.GameSpeed;
+import com.darianbenam.snake.game.RenderMode;
 import com.darianbenam.snake.game.SnakeGameContainer;
 import com.darianbenam.snake.game.SnakeGameContainerListener;
+import com.darianbenam.snake.replay.Replay;
+import com.darianbenam.snake.simulation.PathfindingStrategy;
 import java.awt.Color;
 import java.awt.FlowLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
+import java.io.File;
 import java.io.IOException;
+import javax.swing.ButtonGroup;
+import javax.swing.JCheckBoxMenuItem;
+import javax.swing.JFileChooser;
 import javax.swing.JFrame;
 import javax.swing.JMenu;
 import javax.swing.JMenuBar;
 import javax.swing.JMenuItem;
 import javax.swing.JPanel;
 import javax.swing.JOptionPane;
+import javax.swing.JRadioButtonMenuItem;
 import javax.swing.JSeparator;
+import javax.swing.SwingUtilities;
 import javax.swing.event.MenuEvent;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import com.darianbenam.snake.score.HighScoreManager;
 
 public class SnakeGameWindow extends JFrame implements SnakeGameContainerListener
 {
     private static final String WINDOW_TITLE = "Snake";
+    private static final String ASSISTED_TITLE_SUFFIX = " (Assisted, not ranked)";
     private final Color BG_COLOUR = new Color(0, 0, 0);
     private final int WINDOW_HEIGHT = 500, WINDOW_WIDTH = 500;
+    private final int REPLAY_SEEK_TICKS = 100;
 
     private WindowKeyListener keyListener;
     private MainMenuListener menuListener;
 
     private JMenuBar menuBar;
-    private JMenu fileMenu, helpMenu;
-    private JMenuItem newGameMenuItem, highScoresMenuItem, closeMenuItem, aboutMenuItem;
+    private JMenu fileMenu, viewMenu, speedMenu, helpMenu;
+    private JMenuItem newGameMenuItem, watchReplayMenuItem, highScoresMenuItem, closeMenuItem, aboutMenuItem;
+    private JRadioButtonMenuItem passiveRenderingMenuItem, activeRenderingMenuItem, interpolatedRenderingMenuItem;
+    private JCheckBoxMenuItem autopilotMenuItem;
+    private final JRadioButtonMenuItem[] speedMenuItems = new JRadioButtonMenuItem[GameSpeed.values().length];
 
     private SnakeGameContainer snakeGame;
     private HighScoreManager highScoreMngr;
@@ -64,11 +80,44 @@ public class SnakeGameWindow extends JFrame implements SnakeGameContainerListene
                 }
             }
 
+            if (e.getSource() == watchReplayMenuItem)
+            {
+                watchReplay();
+            }
+
             if (e.getSource() == highScoresMenuItem)
             {
                 showHighScoreWindow();
             }
 
+            if (e.getSource() == passiveRenderingMenuItem)
+            {
+                snakeGame.setRenderMode(RenderMode.Passive);
+            }
+
+            if (e.getSource() == activeRenderingMenuItem)
+            {
+                snakeGame.setRenderMode(RenderMode.Active);
+            }
+
+            if (e.getSource() == interpolatedRenderingMenuItem)
+            {
+                snakeGame.setRenderMode(RenderMode.Interpolated);
+            }
+
+            for (int i = 0; i < speedMenuItems.length; i++)
+            {
+                if (e.getSource() == speedMenuItems[i])
+                {
+                    snakeGame.setGameSpeed(GameSpeed.values()[i]);
+                }
+            }
+
+            if (e.getSource() == autopilotMenuItem)
+            {
+                snakeGame.setAutopilot(autopilotMenuItem.isSelected() ? new PathfindingStrategy() : null);
+            }
+
             if (e.getSource() == closeMenuItem)
             {
                 System.exit(0);
@@ -107,19 +156,33 @@ public class SnakeGameWindow extends JFrame implements SnakeGameContainerListene
             {
                 case KeyEvent.VK_W:
                 case KeyEvent.VK_UP:
-                    snakeGame.setSnakeDirection(Direction.Up);
+                    steer(Direction.Up);
                     break;
                 case KeyEvent.VK_S:
                 case KeyEvent.VK_DOWN:
-                    snakeGame.setSnakeDirection(Direction.Down);
+                    steer(Direction.Down);
                     break;
                 case KeyEvent.VK_A:
                 case KeyEvent.VK_LEFT:
-                    snakeGame.setSnakeDirection(Direction.Left);
+                    if (snakeGame.isReplaying())
+                    {
+                        snakeGame.seekReplay(snakeGame.getReplayTick() - REPLAY_SEEK_TICKS);
+                    }
+                    else
+                    {
+                        steer(Direction.Left);
+                    }
                     break;
                 case KeyEvent.VK_D:
                 case KeyEvent.VK_RIGHT:
-                    snakeGame.setSnakeDirection(Direction.Right);
+                    if (snakeGame.isReplaying())
+                    {
+                        snakeGame.seekReplay(snakeGame.getReplayTick() + REPLAY_SEEK_TICKS);
+                    }
+                    else
+                    {
+                        steer(Direction.Right);
+                    }
                     break;
                 case KeyEvent.VK_P:
                     if (snakeGame.isGameStarted())
@@ -135,6 +198,19 @@ public class SnakeGameWindow extends JFrame implements SnakeGameContainerListene
                     break;
             }
         }
+
+        /**
+         * Turns the snake, unless the autopilot is steering it.
+         *
+         * @param dir The direction the snake should travel.
+         */
+        private void steer(Direction dir)
+        {
+            if (!snakeGame.isAutopilotEngaged())
+            {
+                snakeGame.setSnakeDirection(dir);
+            }
+        }
     }
 
     /**
@@ -180,7 +256,8 @@ public class SnakeGameWindow extends JFrame implements SnakeGameContainerListene
  
     /**
      * Initializes the high score manager by loading up the high scores saved on the hard drive into the program. If the high scores fail
-     * to load, then the high scores will just be initialized with default values (empty names and scores of zero).
+     * to load, then the high scores will just be initialized with default values (empty names and scores of zero). High scores are
+     * saved on a background thread from then on.
      */
     private void initHighScoreManager()
     {
@@ -194,6 +271,32 @@ public class SnakeGameWindow extends JFrame implements SnakeGameContainerListene
         {
             JOptionPane.showMessageDialog(null, "An error occured while trying to load the high score file (" + highScoreMngr.HIGH_SCORE_FILE_PATH + ").\n\nError Message: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
         }
+
+        highScoreMngr.startBackgroundSaving(this::onHighScoreSaveFailed);
+    }
+
+    /**
+     * Shows an error message when the high scores could not be saved. This is called on the thread that saves the high scores, so
+     * the message is shown later on the event dispatch thread.
+     *
+     * @param ex The exception that was thrown while saving the high scores.
+     */
+    private void onHighScoreSaveFailed(IOException ex)
+    {
+        SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this, "An error occured while trying to save the high score file (" + highScoreMngr.HIGH_SCORE_FILE_PATH + ").\n\nError Message: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE));
+    }
+
+    /**
+     * Shows an error message when something failed inside the snake game container (ex: a replay could not be saved). This is called
+     * on the thread where the failure happened, so the message is shown later on the event dispatch thread.
+     *
+     * @param ex The exception or error that was thrown.
+     */
+    private void onGameFailure(Throwable ex)
+    {
+        final String ERROR_MESSAGE = ex.getMessage() != null ? ex.getMessage() : ex.toString();
+
+        SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this, "An error occured in the game.\n\nError Message: " + ERROR_MESSAGE, "Error", JOptionPane.ERROR_MESSAGE));
     }
 
     /**
@@ -205,26 +308,63 @@ public class SnakeGameWindow extends JFrame implements SnakeGameContainerListene
 
         fileMenu = new JMenu("File");
         newGameMenuItem = new JMenuItem("New Game");
+        watchReplayMenuItem = new JMenuItem("Watch Replay...");
         highScoresMenuItem = new JMenuItem("High Scores");
         closeMenuItem = new JMenuItem("Close");
         fileMenu.add(newGameMenuItem);
+        fileMenu.add(watchReplayMenuItem);
         fileMenu.add(highScoresMenuItem);
         fileMenu.add(new JSeparator());
         fileMenu.add(closeMenuItem);
 
+        viewMenu = new JMenu("View");
+        passiveRenderingMenuItem = new JRadioButtonMenuItem("Passive Rendering", true);
+        activeRenderingMenuItem = new JRadioButtonMenuItem("Active Rendering");
+        interpolatedRenderingMenuItem = new JRadioButtonMenuItem("Smooth Rendering");
+        ButtonGroup renderingButtonGroup = new ButtonGroup();
+        renderingButtonGroup.add(passiveRenderingMenuItem);
+        renderingButtonGroup.add(activeRenderingMenuItem);
+        renderingButtonGroup.add(interpolatedRenderingMenuItem);
+        viewMenu.add(passiveRenderingMenuItem);
+        viewMenu.add(activeRenderingMenuItem);
+        viewMenu.add(interpolatedRenderingMenuItem);
+
+        speedMenu = new JMenu("Speed");
+        ButtonGroup speedButtonGroup = new ButtonGroup();
+        for (int i = 0; i < speedMenuItems.length; i++)
+        {
+            speedMenuItems[i] = new JRadioButtonMenuItem(GameSpeed.values()[i].DISPLAY_NAME, GameSpeed.values()[i] == GameSpeed.Normal);
+            speedButtonGroup.add(speedMenuItems[i]);
+            speedMenu.add(speedMenuItems[i]);
+            speedMenuItems[i].addActionListener(menuListener);
+        }
+
+        autopilotMenuItem = new JCheckBoxMenuItem("Autopilot");
+        speedMenu.add(new JSeparator());
+        speedMenu.add(autopilotMenuItem);
+
         helpMenu = new JMenu("Help");
         aboutMenuItem = new JMenuItem("About");
         helpMenu.add(aboutMenuItem);
 
         menuBar.add(fileMenu);
+        menuBar.add(viewMenu);
+        menuBar.add(speedMenu);
         menuBar.add(helpMenu);
 
         fileMenu.addMenuListener(menuListener);
+        viewMenu.addMenuListener(menuListener);
+        speedMenu.addMenuListener(menuListener);
         helpMenu.addMenuListener(menuListener);
 
         newGameMenuItem.addActionListener(menuListener);
+        watchReplayMenuItem.addActionListener(menuListener);
         highScoresMenuItem.addActionListener(menuListener);
         closeMenuItem.addActionListener(menuListener);
+        passiveRenderingMenuItem.addActionListener(menuListener);
+        activeRenderingMenuItem.addActionListener(menuListener);
+        interpolatedRenderingMenuItem.addActionListener(menuListener);
+        autopilotMenuItem.addActionListener(menuListener);
         aboutMenuItem.addActionListener(menuListener);
 
         this.setJMenuBar(menuBar);
@@ -239,7 +379,7 @@ public class SnakeGameWindow extends JFrame implements SnakeGameContainerListene
         gameContainerPanel.setLayout(new FlowLayout(FlowLayout.CENTER, 0, 0));
         gameContainerPanel.setBackground(BG_COLOUR);
 
-        snakeGame = new SnakeGameContainer();
+        snakeGame = new SnakeGameContainer(this::onGameFailure);
         gameContainerPanel.add(snakeGame);
 
         snakeGame.addEventListener(this);
@@ -248,14 +388,16 @@ public class SnakeGameWindow extends JFrame implements SnakeGameContainerListene
     }
 
     /**
-     * Handles the occurrence of if a new high score is achieved from the player. If a high score is not achieved, this method will not do
-     * anything.
+     * Handles the occurrence of if a new high score is achieved from the player. If a high score is not achieved (or the player does not
+     * enter a name), the run is still recorded on the leaderboard without a name and its rank among every run is shown in the title.
+     *
+     * @param finalScore The score of the game that ended.
      */
-    private void handleNewHighScore()
+    private void handleNewHighScore(int finalScore)
     {
-        if (snakeGame.getScore() > 0)
+        if (finalScore > 0)
         {
-            int rank = highScoreMngr.getHighScoreRank(snakeGame.getScore());
+            int rank = highScoreMngr.getHighScoreRank(finalScore);
 
             if (rank != -1)
             {
@@ -269,7 +411,7 @@ public class SnakeGameWindow extends JFrame implements SnakeGameContainerListene
 
                     if (name == null) // User pressed cancel
                     {
-                        int result = JOptionPane.showConfirmDialog(null, "Are you sure you want to cancel? Your high score will not be saved.", "Warning", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
+                        int result = JOptionPane.showConfirmDialog(null, "Are you sure you want to cancel? Your high score will be saved as \"" + highScoreMngr.UNNAMED_PLAYER_NAME + "\".", "Warning", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
                     
                         if (result == JOptionPane.YES_OPTION)
                         {
@@ -300,23 +442,65 @@ public class SnakeGameWindow extends JFrame implements SnakeGameContainerListene
 
                 if (!cancelled)
                 {
-                    highScoreMngr.updateHighScore(rank, name, snakeGame.getScore());
+                    highScoreMngr.updateHighScore(rank, name, finalScore);
+                    highScoreMngr.saveHighScoresInBackground();
 
-                    try
-                    {
-                        highScoreMngr.saveHighScores();
+                    showHighScoreWindow();
 
-                        showHighScoreWindow();
-                    }
-                    catch (IOException ex)
-                    {
-                        JOptionPane.showMessageDialog(null, "An error occured while trying to save the high score file (" + highScoreMngr.HIGH_SCORE_FILE_PATH + ").\n\nError Message: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-                    }
+                    return;
                 }
             }
+
+            final int OVERALL_RANK = highScoreMngr.recordScore(highScoreMngr.UNNAMED_PLAYER_NAME, finalScore);
+            highScoreMngr.saveHighScoresInBackground();
+
+            this.setTitle(this.getTitle() + " | Rank: " + OVERALL_RANK + " of " + highScoreMngr.getLeaderboard().size());
         }
     }
 
+    /**
+     * Lets the user pick a replay file and a playback speed and then plays the replay in the snake game container. While a replay
+     * is being watched, the left and right keys jump backward and forward through it.
+     */
+    private void watchReplay()
+    {
+        JFileChooser fileChooser = new JFileChooser(new File(snakeGame.REPLAY_DIRECTORY_PATH));
+        fileChooser.setFileFilter(new FileNameExtensionFilter("Snake Replays", Replay.FILE_EXTENSION.substring(1)));
+
+        if (fileChooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION)
+        {
+            return;
+        }
+
+        Replay replay;
+
+        try
+        {
+            replay = Replay.read(fileChooser.getSelectedFile().toPath());
+        }
+        catch (IOException ex)
+        {
+            JOptionPane.showMessageDialog(null, "An error occured while trying to load the replay file (" + fileChooser.getSelectedFile().getPath() + ").\n\nError Message: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+
+            return;
+        }
+
+        final String[] SPEED_OPTIONS = new String[GameSpeed.values().length];
+        for (int i = 0; i < SPEED_OPTIONS.length; i++)
+        {
+            SPEED_OPTIONS[i] = GameSpeed.values()[i].DISPLAY_NAME;
+        }
+
+        int speed = JOptionPane.showOptionDialog(null, "How fast should the replay be played?", "Replay Speed", JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, SPEED_OPTIONS, SPEED_OPTIONS[0]);
+
+        if (speed == JOptionPane.CLOSED_OPTION)
+        {
+            return;
+        }
+
+        snakeGame.playReplay(replay, GameSpeed.values()[speed].getTickPeriodNs(snakeGame.getGameTickPeriodNs()));
+    }
+
     /**
      * Creates a new instance of the high score window and shows it.
      */
@@ -342,17 +526,25 @@ public class SnakeGameWindow extends JFrame implements SnakeGameContainerListene
     }
 
     @Override
-    public void onGameOver()
+    public void onGameOver(int finalScore, boolean assisted)
     {
-        this.setTitle(WINDOW_TITLE + " | Game Over! Final Score: " + snakeGame.getScore());
+        this.setTitle(WINDOW_TITLE + " | Game Over! Final Score: " + finalScore + (assisted ? ASSISTED_TITLE_SUFFIX : ""));
 
-        handleNewHighScore();
+        if (!assisted) // A game played by the autopilot or at uncapped speed would push every player off the high score board
+        {
+            handleNewHighScore(finalScore);
+        }
     }
 
     @Override
-    public void onGameWon()
+    public void onGameWon(int finalScore, boolean assisted)
     {
-        this.setTitle(WINDOW_TITLE + " | You win! Final Score: " + snakeGame.getScore());
+        this.setTitle(WINDOW_TITLE + " | You win! Final Score: " + finalScore + (assisted ? ASSISTED_TITLE_SUFFIX : ""));
+
+        if (!assisted)
+        {
+            handleNewHighScore(finalScore);
+        }
     }
 
     @Override
@@ -0,0 +1,98 @@
+// File Name:     GameRendererAllocationTest.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.game;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import org.junit.Assume;
+import org.junit.Test;
+
+public class GameRendererAllocationTest
+{
+    private static final int FRAME_COUNT = 50_000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int CELL_SIZE = 20, MAP_SIZE = 20;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final SnakeGame game = new SnakeGame(MAP_SIZE, MAP_SIZE, false, 0);
+    private final FrameExchange frameExchange = new FrameExchange();
+    private final GameRenderer renderer = new GameRenderer(CELL_SIZE, MAP_SIZE * CELL_SIZE, MAP_SIZE * CELL_SIZE);
+
+    private int directionState = 1; // State of the xorshift generator that picks the directions
+    private int fullRedrawCount;
+
+    /**
+     * Steps a game, publishes every step as a new frame and renders it half way between two steps, and checks that the thread that
+     * did so did not allocate a single byte once it was warmed up. Every frame is a new one, so the map image is brought up to date
+     * on every render, and the game is reset every time it is over so full redraws are covered as well.
+     */
+    @Test
+    public void renderingNewFramesDoesNotAllocate()
+    {
+        final java.lang.management.ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+        Assume.assumeTrue("Allocation counting is not supported by this JVM.", THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean);
+
+        final com.sun.management.ThreadMXBean ALLOCATION_MX_BEAN = (com.sun.management.ThreadMXBean)THREAD_MX_BEAN;
+
+        Assume.assumeTrue("Allocation counting is not supported by this JVM.", ALLOCATION_MX_BEAN.isThreadAllocatedMemorySupported());
+
+        ALLOCATION_MX_BEAN.setThreadAllocatedMemoryEnabled(true);
+
+        final long THREAD_ID = Thread.currentThread().getId();
+        final Graphics2D TARGET_GRAPHICS = new BufferedImage(MAP_SIZE * CELL_SIZE, MAP_SIZE * CELL_SIZE, BufferedImage.TYPE_INT_RGB).createGraphics();
+
+        frameExchange.publishFullRedraw(game);
+
+        // Warm up the renderer, the game and the allocation counter itself, so that class loading and the switches between compiled
+        // versions of the code while it is being optimized are not counted
+        for (int i = 0; i < WARMUP_ROUNDS; i++)
+        {
+            renderFrames(TARGET_GRAPHICS, FRAME_COUNT);
+            ALLOCATION_MX_BEAN.getThreadAllocatedBytes(THREAD_ID);
+        }
+
+        fullRedrawCount = 0;
+
+        final long ALLOCATED_BYTES_BEFORE = ALLOCATION_MX_BEAN.getThreadAllocatedBytes(THREAD_ID);
+        renderFrames(TARGET_GRAPHICS, FRAME_COUNT);
+        final long ALLOCATED_BYTES_AFTER = ALLOCATION_MX_BEAN.getThreadAllocatedBytes(THREAD_ID);
+
+        TARGET_GRAPHICS.dispose();
+
+        assertTrue("The map was never redrawn in full, so full redraws were not covered.", fullRedrawCount > 0);
+        assertEquals("Bytes allocated over " + FRAME_COUNT + " new frames", 0, ALLOCATED_BYTES_AFTER - ALLOCATED_BYTES_BEFORE);
+    }
+
+    private void renderFrames(Graphics2D g, int frameCount)
+    {
+        for (int i = 0; i < frameCount; i++)
+        {
+            if (game.isGameOver())
+            {
+                game.reset();
+                frameExchange.publishFullRedraw(game);
+            }
+            else
+            {
+                directionState ^= directionState << 13;
+                directionState ^= directionState >>> 17;
+                directionState ^= directionState << 5;
+
+                game.step(DIRECTIONS[directionState & 3]);
+                frameExchange.publish(game);
+            }
+
+            if (renderer.render(g, frameExchange.getLatestFrame(), GameState.Running, 0.5))
+            {
+                fullRedrawCount++;
+            }
+        }
+    }
+}
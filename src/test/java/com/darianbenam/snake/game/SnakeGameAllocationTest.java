@@ -0,0 +1,84 @@
+// File Name:     SnakeGameAllocationTest.java
+// By:            Darian Benam (GitHub: https://github.com/BeardedFish/)
+// Date:          Sunday, October 18, 2026
+
+package com.darianbenam.snake.game;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import org.junit.Assume;
+import org.junit.Test;
+
+public class SnakeGameAllocationTest
+{
+    private static final int TICK_COUNT = 1_000_000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private int directionState = 1; // State of the xorshift generator that picks the directions
+    private int foodEatenCount, resetCount;
+
+    /**
+     * Steps a warmed up game for a million ticks, resetting it every time it is over, and checks that the thread that stepped it did
+     * not allocate a single byte. The snake moves in random directions on a small map without walls, so the ticks cover moving,
+     * eating, placing food, dying and resetting.
+     */
+    @Test
+    public void stepAndResetDoNotAllocate()
+    {
+        final java.lang.management.ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+        Assume.assumeTrue("Allocation counting is not supported by this JVM.", THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean);
+
+        final com.sun.management.ThreadMXBean ALLOCATION_MX_BEAN = (com.sun.management.ThreadMXBean)THREAD_MX_BEAN;
+
+        Assume.assumeTrue("Allocation counting is not supported by this JVM.", ALLOCATION_MX_BEAN.isThreadAllocatedMemorySupported());
+
+        ALLOCATION_MX_BEAN.setThreadAllocatedMemoryEnabled(true);
+
+        final long THREAD_ID = Thread.currentThread().getId();
+        final SnakeGame GAME = new SnakeGame(10, 10, false, 0);
+
+        // Warm up both the game and the allocation counter itself, so that class loading, the first calls and the switches between
+        // compiled versions of the code while it is being optimized are not counted
+        for (int i = 0; i < WARMUP_ROUNDS; i++)
+        {
+            runTicks(GAME, TICK_COUNT);
+            ALLOCATION_MX_BEAN.getThreadAllocatedBytes(THREAD_ID);
+        }
+
+        foodEatenCount = 0;
+        resetCount = 0;
+
+        final long ALLOCATED_BYTES_BEFORE = ALLOCATION_MX_BEAN.getThreadAllocatedBytes(THREAD_ID);
+        runTicks(GAME, TICK_COUNT);
+        final long ALLOCATED_BYTES_AFTER = ALLOCATION_MX_BEAN.getThreadAllocatedBytes(THREAD_ID);
+
+        assertTrue("No food was eaten, so food placement was not covered.", foodEatenCount > 0);
+        assertTrue("The game was never over, so resetting was not covered.", resetCount > 0);
+        assertEquals("Bytes allocated over " + TICK_COUNT + " ticks", 0, ALLOCATED_BYTES_AFTER - ALLOCATED_BYTES_BEFORE);
+    }
+
+    private void runTicks(SnakeGame game, int tickCount)
+    {
+        for (int i = 0; i < tickCount; i++)
+        {
+            if (game.isGameOver())
+            {
+                game.reset();
+                resetCount++;
+            }
+
+            directionState ^= directionState << 13;
+            directionState ^= directionState >>> 17;
+            directionState ^= directionState << 5;
+
+            if (game.step(DIRECTIONS[directionState & 3]) == StepResult.FoodEaten)
+            {
+                foodEatenCount++;
+            }
+        }
+    }
+}